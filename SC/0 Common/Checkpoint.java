@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Binary checkpoint file written through a MappedByteBuffer.
+// Layout (little endian):
+//   header: int magic 'CKPT', int version, long kind (up to 8 ASCII chars),
+//           int payload bytes, int reserved                      (24 bytes)
+//   slot 0, slot 1: long seq, int crc32 of payload, int reserved, payload
+// A save fills the slot not holding the newest state and writes its
+// sequence number last, so a crash during a save leaves the previous
+// checkpoint intact; load() returns the valid slot with the highest
+// sequence. Saving is a memory copy into the page cache with no system
+// calls; the OS writes it back in the background, and sync(true) forces
+// it to disk on every commit instead (slower, survives power loss).
+//
+// What goes into the payload is up to the engine (see PSOEngine.save and
+// GWOEngine.save); the putDoubles/getDoubles helpers move whole arrays.
+public final class Checkpoint {
+    static final int MAGIC = 0x434B5054; // "CKPT"
+    static final int VERSION = 1;
+    static final int HEADER = 24, SLOT_HEADER = 16;
+    // the whole file is one MappedByteBuffer, whose size is an int
+    static final int MAX_PAYLOAD = (Integer.MAX_VALUE - HEADER) / 2 - SLOT_HEADER;
+
+    final MappedByteBuffer map;
+    final int payload;
+    long seq;                 // sequence of the newest committed state (0 = none)
+    boolean sync = false;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending;
+
+    private Checkpoint(MappedByteBuffer map, int payload, long seq) {
+        this.map = map;
+        this.payload = payload;
+        this.seq = seq;
+    }
+
+    // Maps file for states of `bytes` bytes. A compatible checkpoint already
+    // in the file is kept (and is what load() returns until the next commit);
+    // anything else is overwritten. Payloads above MAX_PAYLOAD (about 1 GB,
+    // two slots in one mapped buffer) are rejected.
+    public static Checkpoint open(Path file, String kind, long bytes) throws IOException {
+        if (bytes < 0 || bytes > MAX_PAYLOAD)
+            throw new IllegalArgumentException(String.format(
+                    "%s checkpoint of %d bytes exceeds the %d-byte limit of a single MappedByteBuffer", kind, bytes,
+                    MAX_PAYLOAD));
+        int payload = (int) bytes;
+        long size = HEADER + 2L * (SLOT_HEADER + payload);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            boolean keep = ch.size() == size;
+            if (!keep) ch.truncate(0);
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (keep && !headerMatches(map, kind, payload)) keep = false;
+            if (!keep) {
+                // a freshly extended file reads as zeros; only the slot sequences matter
+                map.putLong(slotBase(0, payload), 0);
+                map.putLong(slotBase(1, payload), 0);
+                map.putInt(0, MAGIC);
+                map.putInt(4, VERSION);
+                map.putLong(8, kindCode(kind));
+                map.putInt(16, payload);
+            }
+            int slot = keep ? newestSlot(map, payload, new CRC32()) : -1;
+            return new Checkpoint(map, payload, slot < 0 ? 0 : map.getLong(slotBase(slot, payload)));
+        }
+    }
+
+    // Forces every commit to the storage device
+    public Checkpoint sync(boolean on) {
+        sync = on;
+        return this;
+    }
+
+    // Buffer for the next state: position 0, limit = payload bytes
+    public ByteBuffer begin() {
+        int base = slotBase((int) ((seq + 1) & 1), payload);
+        ByteBuffer b = map.duplicate();
+        b.position(base + SLOT_HEADER).limit(base + SLOT_HEADER + payload);
+        pending = b.slice().order(ByteOrder.LITTLE_ENDIAN);
+        return pending;
+    }
+
+    // Seals the state written since begin(); it becomes the newest checkpoint
+    public void commit() {
+        if (pending == null) throw new IllegalStateException("commit without begin");
+        int base = slotBase((int) ((seq + 1) & 1), payload);
+        pending.clear();
+        crc.reset();
+        crc.update(pending);
+        map.putInt(base + 8, (int) crc.getValue());
+        map.putLong(base, seq + 1); // last: the slot only counts once its sequence is written
+        seq++;
+        pending = null;
+        if (sync) map.force();
+    }
+
+    // Newest valid state of the given kind in file (position 0, limit =
+    // payload bytes), or null if the file does not exist or holds none
+    public static ByteBuffer load(Path file, String kind) throws IOException {
+        if (!Files.exists(file)) return null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER) return null;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            int payload = map.getInt(16);
+            if (map.getInt(0) != MAGIC || map.getLong(8) != kindCode(kind))
+                throw new IOException(file + " is not a " + kind + " checkpoint");
+            if (map.getInt(4) != VERSION || ch.size() != HEADER + 2L * (SLOT_HEADER + payload))
+                throw new IOException(file + ": unsupported checkpoint version or truncated file");
+            int slot = newestSlot(map, payload, new CRC32());
+            if (slot < 0) return null;
+            int base = slotBase(slot, payload) + SLOT_HEADER;
+            map.position(base).limit(base + payload);
+            return map.slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    static int slotBase(int slot, int payload) {
+        return HEADER + slot * (SLOT_HEADER + payload);
+    }
+
+    static boolean headerMatches(ByteBuffer map, String kind, int payload) {
+        return map.getInt(0) == MAGIC && map.getInt(4) == VERSION && map.getLong(8) == kindCode(kind)
+                && map.getInt(16) == payload;
+    }
+
+    // Slot with the highest sequence whose payload passes its CRC, or -1
+    static int newestSlot(ByteBuffer map, int payload, CRC32 crc) {
+        int best = -1;
+        long bestSeq = 0;
+        for (int s = 0; s < 2; s++) {
+            int base = slotBase(s, payload);
+            long sq = map.getLong(base);
+            if (sq <= bestSeq) continue;
+            ByteBuffer b = map.duplicate();
+            b.position(base + SLOT_HEADER).limit(base + SLOT_HEADER + payload);
+            crc.reset();
+            crc.update(b);
+            if ((int) crc.getValue() == map.getInt(base + 8)) {
+                best = s;
+                bestSeq = sq;
+            }
+        }
+        return best;
+    }
+
+    // Up to 8 ASCII characters packed into a long
+    static long kindCode(String kind) {
+        long code = 0;
+        for (int i = 0; i < Math.min(8, kind.length()); i++)
+            code |= (long) (kind.charAt(i) & 0xFF) << (8 * i);
+        return code;
+    }
+
+    public static void putDoubles(ByteBuffer b, double[] a) {
+        b.asDoubleBuffer().put(a);
+        b.position(b.position() + 8 * a.length);
+    }
+
+    public static void getDoubles(ByteBuffer b, double[] a) {
+        b.asDoubleBuffer().get(a);
+        b.position(b.position() + 8 * a.length);
+    }
+
+    public static void putInts(ByteBuffer b, int[] a) {
+        b.asIntBuffer().put(a);
+        b.position(b.position() + 4 * a.length);
+    }
+
+    public static void getInts(ByteBuffer b, int[] a) {
+        b.asIntBuffer().get(a);
+        b.position(b.position() + 4 * a.length);
+    }
+}
@@ -0,0 +1,185 @@
+// Limited-memory BFGS with finite-difference gradients.
+// The gradient is taken by central differences (2*dim evaluations, error
+// O(h^2), h = cbrt(eps) * max(1, |x_d|)), which stays accurate enough to
+// drive f down to ~1e-12 where forward differences stall. The direction
+// comes from the two-loop recursion over the last `memory` steps, and the
+// step length from a backtracking Armijo search on the box-projected
+// path. A pair (s, y) with s.y <= 0 is dropped, and a direction that is
+// not downhill, or a failed line search, clears the memory and retries
+// along -g once before giving up.
+//
+// The memory is kept in two flat ring buffers, pair k at s[k*dim ..] and
+// y[k*dim ..].
+public class LBFGS implements LocalSearch {
+    static final double H = Math.cbrt(Math.ulp(1.0));
+
+    double target = -Double.MAX_VALUE;
+    double step = 0;
+    int memory = 8;
+    double gtol = 1e-12;
+
+    long evals;
+    int iterations;             // accepted steps of the last minimize()
+
+    public LBFGS target(double target) {
+        this.target = target;
+        return this;
+    }
+
+    public LBFGS step(double step) {
+        this.step = step;
+        return this;
+    }
+
+    // Number of (s, y) pairs kept
+    public LBFGS memory(int m) {
+        memory = Math.max(1, m);
+        return this;
+    }
+
+    // Stop when the largest gradient component is at most gtol
+    public LBFGS tolerance(double gtol) {
+        this.gtol = gtol;
+        return this;
+    }
+
+    public long evaluations() {
+        return evals;
+    }
+
+    public String name() {
+        return "l-bfgs";
+    }
+
+    public double minimize(Objective f, double[] x, double fx, double lo, double hi, long budget) {
+        int n = x.length, m = memory;
+        double[] g = new double[n], gn = new double[n], p = new double[n], xn = new double[n], q = new double[n];
+        double[] s = new double[m * n], y = new double[m * n], rho = new double[m], alpha = new double[m];
+        int stored = 0, newest = -1;
+        double first = step > 0 ? step : 0.05 * (hi - lo);
+        this.evals = 0;
+        this.iterations = 0;
+
+        if (budget < 2L * n) return fx;
+        gradient(f, x, lo, hi, g);
+        boolean retried = false;
+        while (fx > target && norm(g) > gtol) {
+            // p = -H g by the two-loop recursion; H0 = (s.y / y.y) I
+            System.arraycopy(g, 0, q, 0, n);
+            for (int j = 0, k = newest; j < stored; j++, k = (k - 1 + m) % m) {
+                alpha[k] = rho[k] * dot(s, k * n, q, n);
+                axpy(-alpha[k], y, k * n, q, n);
+            }
+            double h0 = 1;
+            if (stored > 0) h0 = 1 / (rho[newest] * dot(y, newest * n, y, newest * n, n));
+            for (int d = 0; d < n; d++) q[d] *= h0;
+            for (int j = 0, k = (newest - stored + 1 + m) % m; j < stored; j++, k = (k + 1) % m) {
+                double beta = rho[k] * dot(y, k * n, q, n);
+                axpy(alpha[k] - beta, s, k * n, q, n);
+            }
+            for (int d = 0; d < n; d++) p[d] = -q[d];
+            double slope = 0;
+            for (int d = 0; d < n; d++) slope += g[d] * p[d];
+            if (stored == 0 || slope >= 0) {
+                // steepest descent with the first step of length `first`
+                stored = 0;
+                double len = first / norm2(g);
+                for (int d = 0; d < n; d++) p[d] = -g[d] * len;
+            }
+
+            // backtracking Armijo on the projected path x(t) = clamp(x + t p)
+            double t = 1, fn = Double.MAX_VALUE;
+            boolean accepted = false;
+            for (int tries = 0; tries < 40 && evals < budget; tries++, t *= 0.5) {
+                double decrease = 0;
+                for (int d = 0; d < n; d++) {
+                    xn[d] = Math.max(lo, Math.min(hi, x[d] + t * p[d]));
+                    decrease += g[d] * (xn[d] - x[d]);
+                }
+                fn = eval(f, xn);
+                if (fn <= fx + 1e-4 * decrease && fn < fx) {
+                    accepted = true;
+                    break;
+                }
+            }
+            if (!accepted) {
+                if (stored == 0 || retried) break;
+                stored = 0; // memory led nowhere: fall back to -g once
+                retried = true;
+                continue;
+            }
+            retried = false;
+            if (budget - evals < 2L * n) {
+                System.arraycopy(xn, 0, x, 0, n);
+                fx = fn;
+                break;
+            }
+
+            gradient(f, xn, lo, hi, gn);
+            double sy = 0;
+            for (int d = 0; d < n; d++) sy += (xn[d] - x[d]) * (gn[d] - g[d]);
+            if (sy > 1e-300) { // otherwise the curvature condition failed: the pair is dropped
+                newest = (newest + 1) % m;
+                int o = newest * n;
+                for (int d = 0; d < n; d++) {
+                    s[o + d] = xn[d] - x[d];
+                    y[o + d] = gn[d] - g[d];
+                }
+                rho[newest] = 1 / sy;
+                stored = Math.min(stored + 1, m);
+            }
+            System.arraycopy(xn, 0, x, 0, n);
+            System.arraycopy(gn, 0, g, 0, n);
+            fx = fn;
+            iterations++;
+        }
+        return fx;
+    }
+
+    // Central differences inside the box (one-sided at a bound)
+    void gradient(Objective f, double[] x, double lo, double hi, double[] g) {
+        for (int d = 0; d < x.length; d++) {
+            double xd = x[d], h = H * Math.max(1, Math.abs(xd));
+            double up = Math.min(hi, xd + h), down = Math.max(lo, xd - h);
+            x[d] = up;
+            double fu = eval(f, x);
+            x[d] = down;
+            double fd = eval(f, x);
+            x[d] = xd;
+            g[d] = (fu - fd) / (up - down);
+        }
+    }
+
+    double eval(Objective f, double[] x) {
+        evals++;
+        return f.value(x, 0, x.length);
+    }
+
+    static double dot(double[] a, int off, double[] b, int n) {
+        double s = 0;
+        for (int d = 0; d < n; d++) s += a[off + d] * b[d];
+        return s;
+    }
+
+    static double dot(double[] a, int ao, double[] b, int bo, int n) {
+        double s = 0;
+        for (int d = 0; d < n; d++) s += a[ao + d] * b[bo + d];
+        return s;
+    }
+
+    static void axpy(double c, double[] a, int off, double[] q, int n) {
+        for (int d = 0; d < n; d++) q[d] += c * a[off + d];
+    }
+
+    static double norm(double[] g) {
+        double m = 0;
+        for (double v : g) m = Math.max(m, Math.abs(v));
+        return m;
+    }
+
+    static double norm2(double[] g) {
+        double s = 0;
+        for (double v : g) s += v * v;
+        return Math.max(Math.sqrt(s), 1e-300);
+    }
+}
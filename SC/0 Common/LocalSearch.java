@@ -0,0 +1,36 @@
+// Local optimizer that polishes one point, used after a population method
+// has found the right basin (see HybridGWO). Implementations keep the
+// point inside [lo, hi] and count every objective call they make.
+//
+//   LocalSearch ls = new NelderMead().target(1e-10);
+//   double fx = ls.minimize(f, x, f.value(x), lo, hi, 5000);
+public interface LocalSearch {
+    // Improves x in place starting from f(x) = fx, with at most budget
+    // evaluations; returns f(x) at the end (never worse than fx)
+    double minimize(Objective f, double[] x, double fx, double lo, double hi, long budget);
+
+    // Objective evaluations made by the last minimize()
+    long evaluations();
+
+    // Stop as soon as f(x) <= target
+    LocalSearch target(double target);
+
+    // Initial search scale (simplex edge, first step); <= 0 -> 5% of hi - lo
+    LocalSearch step(double step);
+
+    String name();
+
+    static LocalSearch byName(String name) {
+        switch (name.toLowerCase()) {
+            case "nm":
+            case "neldermead":
+            case "nelder-mead":
+                return new NelderMead();
+            case "lbfgs":
+            case "l-bfgs":
+                return new LBFGS();
+            default:
+                throw new IllegalArgumentException("unknown local search: " + name);
+        }
+    }
+}
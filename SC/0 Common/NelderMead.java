@@ -0,0 +1,172 @@
+// Nelder-Mead simplex search, derivative free.
+// Uses the dimension-adaptive coefficients of Gao & Han (2012):
+//   reflection 1, expansion 1 + 2/n, contraction 0.75 - 1/(2n),
+//   shrink 1 - 1/n
+// which keep the simplex from collapsing above ~5 dimensions, where the
+// classic 1 / 2 / 0.5 / 0.5 set stalls. Trial points are clamped to the
+// box. When the simplex has converged (values within ftol and edges within
+// xtol) but the target is not reached, it is rebuilt around the best
+// point; the search stops once a restart brings no improvement.
+//
+// The simplex lives in one flat array, vertex v at simplex[v*dim ..];
+// order[] keeps the vertices sorted by value so only indices move.
+public class NelderMead implements LocalSearch {
+    double target = -Double.MAX_VALUE;
+    double step = 0;
+    double ftol = 1e-15, xtol = 1e-12;
+
+    long evals;
+    int restarts;               // rebuilds done by the last minimize()
+
+    public NelderMead target(double target) {
+        this.target = target;
+        return this;
+    }
+
+    public NelderMead step(double step) {
+        this.step = step;
+        return this;
+    }
+
+    // Convergence tolerances: spread of the vertex values and largest vertex
+    // offset from the best, both relative to 1 + |best|
+    public NelderMead tolerance(double ftol, double xtol) {
+        this.ftol = ftol;
+        this.xtol = xtol;
+        return this;
+    }
+
+    public long evaluations() {
+        return evals;
+    }
+
+    public String name() {
+        return "nelder-mead";
+    }
+
+    public double minimize(Objective f, double[] x, double fx, double lo, double hi, long budget) {
+        int n = x.length, m = n + 1;
+        double edge = step > 0 ? step : 0.05 * (hi - lo);
+        double chi = 1 + 2.0 / n, gamma = 0.75 - 0.5 / n, sigma = 1 - 1.0 / n;
+        if (n == 1) sigma = 0.5;
+
+        double[] simplex = new double[m * n];
+        double[] val = new double[m];
+        int[] order = new int[m];
+        double[] c = new double[n], xr = new double[n], xe = new double[n], xc = new double[n];
+        this.evals = 0;
+        this.restarts = 0;
+
+        double best = fx;
+        while (best > target && evals < budget) {
+            // (re)build the simplex around x: vertex 0 is x itself, vertex
+            // v steps along axis v-1 (backwards when the box is in the way)
+            System.arraycopy(x, 0, simplex, 0, n);
+            val[0] = best;
+            if (budget - evals < n) break; // not enough left for a full simplex
+            for (int v = 1; v < m; v++) {
+                int p = v * n;
+                System.arraycopy(x, 0, simplex, p, n);
+                double t = x[v - 1] + edge;
+                simplex[p + v - 1] = t <= hi ? t : Math.max(lo, x[v - 1] - edge);
+                val[v] = eval(f, simplex, p, n);
+            }
+            for (int v = 0; v < m; v++) order[v] = v;
+            sort(order, val);
+            double before = best;
+
+            while (evals < budget && val[order[0]] > target && !converged(simplex, val, order, n)) {
+                int w = order[m - 1], wp = w * n;
+                java.util.Arrays.fill(c, 0.0);
+                for (int v = 0; v < n; v++) {
+                    int p = order[v] * n;
+                    for (int d = 0; d < n; d++) c[d] += simplex[p + d];
+                }
+                for (int d = 0; d < n; d++) c[d] /= n;
+
+                for (int d = 0; d < n; d++) xr[d] = clamp(c[d] + (c[d] - simplex[wp + d]), lo, hi);
+                double fr = eval(f, xr, 0, n);
+                if (fr < val[order[0]]) {
+                    if (evals < budget) {
+                        for (int d = 0; d < n; d++) xe[d] = clamp(c[d] + chi * (xr[d] - c[d]), lo, hi);
+                        double fe = eval(f, xe, 0, n);
+                        if (fe < fr) replace(simplex, val, w, xe, fe, n);
+                        else replace(simplex, val, w, xr, fr, n);
+                    } else {
+                        replace(simplex, val, w, xr, fr, n);
+                    }
+                } else if (fr < val[order[m - 2]]) {
+                    replace(simplex, val, w, xr, fr, n);
+                } else if (evals < budget) {
+                    boolean outside = fr < val[w];
+                    for (int d = 0; d < n; d++)
+                        xc[d] = outside ? c[d] + gamma * (xr[d] - c[d]) : c[d] + gamma * (simplex[wp + d] - c[d]);
+                    double fc = eval(f, xc, 0, n);
+                    if (outside ? fc <= fr : fc < val[w]) {
+                        replace(simplex, val, w, xc, fc, n);
+                    } else {
+                        if (outside && fr < val[w]) replace(simplex, val, w, xr, fr, n);
+                        // shrink towards the best vertex
+                        int bp = order[0] * n;
+                        for (int v = 1; v < m && evals < budget; v++) {
+                            int p = order[v] * n;
+                            for (int d = 0; d < n; d++)
+                                simplex[p + d] = simplex[bp + d] + sigma * (simplex[p + d] - simplex[bp + d]);
+                            val[order[v]] = eval(f, simplex, p, n);
+                        }
+                    }
+                }
+                sort(order, val);
+            }
+
+            int b = order[0];
+            if (val[b] < best) {
+                best = val[b];
+                System.arraycopy(simplex, b * n, x, 0, n);
+            }
+            if (best >= before) break; // a rebuild that found nothing new: done
+            restarts++;
+        }
+        return best;
+    }
+
+    double eval(Objective f, double[] x, int off, int n) {
+        evals++;
+        return f.value(x, off, n);
+    }
+
+    boolean converged(double[] simplex, double[] val, int[] order, int n) {
+        int b = order[0], bp = b * n;
+        if (val[order[n]] - val[b] > ftol * (1 + Math.abs(val[b]))) return false;
+        for (int v = 1; v <= n; v++) {
+            int p = order[v] * n;
+            for (int d = 0; d < n; d++)
+                if (Math.abs(simplex[p + d] - simplex[bp + d]) > xtol * (1 + Math.abs(simplex[bp + d]))) return false;
+        }
+        return true;
+    }
+
+    static void replace(double[] simplex, double[] val, int v, double[] x, double fx, int n) {
+        System.arraycopy(x, 0, simplex, v * n, n);
+        val[v] = fx;
+    }
+
+    // Insertion sort of vertex indices by value; the order is nearly sorted
+    // after one vertex changed, so this is close to linear
+    static void sort(int[] order, double[] val) {
+        for (int i = 1; i < order.length; i++) {
+            int o = order[i];
+            double v = val[o];
+            int j = i - 1;
+            while (j >= 0 && val[order[j]] > v) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = o;
+        }
+    }
+
+    static double clamp(double v, double lo, double hi) {
+        return v < lo ? lo : v > hi ? hi : v;
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.function.DoubleUnaryOperator;
+
+// Objective function f: R^dim -> R, minimised by the PSO and GWO engines.
+// Points are read from flat arrays so a whole population block can be
+// scored without copying; point i of a row-major block lives at
+// xs[i*dim .. (i+1)*dim).
+//
+// The optimizer folders compile against this one with
+//   javac -sourcepath ".:../0 Common" <Program>.java
+public interface Objective {
+    // f(x[off .. off+dim))
+    double value(double[] x, int off, int dim);
+
+    default double value(double[] x) {
+        return value(x, 0, x.length);
+    }
+
+    // Scores points first .. first+count-1 of the row-major block xs into out[first ..]
+    default void evaluate(double[] xs, int first, int count, int dim, double[] out) {
+        for (int i = first, end = first + count; i < end; i++)
+            out[i] = value(xs, i * dim, dim);
+    }
+
+    // Same as evaluate() for a dimension-major block: coordinate d of point i
+    // lives at cols[d*stride + i]. The default gathers each point into
+    // scratch (length >= dim); functions can override it with loops that
+    // run down whole columns.
+    default void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+            double[] scratch) {
+        for (int i = first, end = first + count; i < end; i++) {
+            for (int d = 0; d < dim; d++)
+                scratch[d] = cols[d * stride + i];
+            out[i] = value(scratch, 0, dim);
+        }
+    }
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    // Typical search box for the function (used when no bounds are given)
+    default double lowerBound() {
+        return -5;
+    }
+
+    default double upperBound() {
+        return 5;
+    }
+
+    // f(-x) trick for maximisation problems such as the GA objective
+    default Objective negate() {
+        Objective self = this;
+        return new Objective() {
+            public double value(double[] x, int off, int dim) {
+                return -self.value(x, off, dim);
+            }
+
+            public String name() {
+                return "-" + self.name();
+            }
+
+            public double lowerBound() {
+                return self.lowerBound();
+            }
+
+            public double upperBound() {
+                return self.upperBound();
+            }
+        };
+    }
+
+    // Wraps a 1-D function, e.g. Objective.scalar(SimpleGA_Objective::objective, 0, 1).negate()
+    static Objective scalar(DoubleUnaryOperator f, double lo, double hi) {
+        return new Objective() {
+            public double value(double[] x, int off, int dim) {
+                return f.applyAsDouble(x[off]);
+            }
+
+            public String name() {
+                return "scalar";
+            }
+
+            public double lowerBound() {
+                return lo;
+            }
+
+            public double upperBound() {
+                return hi;
+            }
+        };
+    }
+}
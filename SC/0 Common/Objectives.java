@@ -0,0 +1,237 @@
+// Standard n-dimensional benchmark functions.
+// Each value() is a single pass over the coordinates with no Math.pow and
+// no allocation, so the JIT can inline it into the batch loop. Every
+// function has its global minimum 0 (Schwefel to within ~3e-5 per dimension).
+// Every function also overrides evaluateColumns() with loops that run down
+// whole columns of a dimension-major block. They add up each point's terms
+// in the same order as value(), so both give the same bits. Ackley and
+// Griewank keep a second running value per point in scratch, so they work
+// through the block in chunks of scratch.length points.
+public enum Objectives implements Objective {
+    SPHERE(-5.12, 5.12) {
+        public double value(double[] x, int off, int dim) {
+            double s = 0;
+            for (int d = off, end = off + dim; d < end; d++)
+                s += x[d] * x[d];
+            return s;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            int end = first + count;
+            java.util.Arrays.fill(out, first, end, 0.0);
+            for (int d = 0; d < dim; d++) {
+                int c = d * stride;
+                for (int i = first; i < end; i++)
+                    out[i] += cols[c + i] * cols[c + i];
+            }
+        }
+    },
+
+    ROSENBROCK(-5, 5) {
+        public double value(double[] x, int off, int dim) {
+            double s = 0;
+            for (int d = off, end = off + dim - 1; d < end; d++) {
+                double a = 1 - x[d];
+                double b = x[d + 1] - x[d] * x[d];
+                s += a * a + 100 * b * b;
+            }
+            return s;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            int end = first + count;
+            java.util.Arrays.fill(out, first, end, 0.0);
+            for (int d = 0; d < dim - 1; d++) {
+                int c = d * stride, n = c + stride;
+                for (int i = first; i < end; i++) {
+                    double x = cols[c + i];
+                    double a = 1 - x;
+                    double b = cols[n + i] - x * x;
+                    out[i] += a * a + 100 * b * b;
+                }
+            }
+        }
+    },
+
+    RASTRIGIN(-5.12, 5.12) {
+        public double value(double[] x, int off, int dim) {
+            double s = 10.0 * dim;
+            for (int d = off, end = off + dim; d < end; d++)
+                s += x[d] * x[d] - 10.0 * Math.cos(TWO_PI * x[d]);
+            return s;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            int end = first + count;
+            java.util.Arrays.fill(out, first, end, 10.0 * dim);
+            for (int d = 0; d < dim; d++) {
+                int c = d * stride;
+                for (int i = first; i < end; i++) {
+                    double x = cols[c + i];
+                    out[i] += x * x - 10.0 * Math.cos(TWO_PI * x);
+                }
+            }
+        }
+    },
+
+    ACKLEY(-32.768, 32.768) {
+        public double value(double[] x, int off, int dim) {
+            double sq = 0, cs = 0;
+            for (int d = off, end = off + dim; d < end; d++) {
+                sq += x[d] * x[d];
+                cs += Math.cos(TWO_PI * x[d]);
+            }
+            return -20.0 * Math.exp(-0.2 * Math.sqrt(sq / dim)) - Math.exp(cs / dim) + 20.0 + Math.E;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            // out: sum of squares, scratch: sum of cosines
+            for (int from = first, end = first + count; from < end; from += scratch.length) {
+                int to = Math.min(end, from + scratch.length);
+                java.util.Arrays.fill(out, from, to, 0.0);
+                java.util.Arrays.fill(scratch, 0, to - from, 0.0);
+                for (int d = 0; d < dim; d++) {
+                    int c = d * stride;
+                    for (int i = from; i < to; i++) {
+                        double x = cols[c + i];
+                        out[i] += x * x;
+                        scratch[i - from] += Math.cos(TWO_PI * x);
+                    }
+                }
+                for (int i = from; i < to; i++)
+                    out[i] = -20.0 * Math.exp(-0.2 * Math.sqrt(out[i] / dim)) - Math.exp(scratch[i - from] / dim)
+                            + 20.0 + Math.E;
+            }
+        }
+    },
+
+    GRIEWANK(-600, 600) {
+        public double value(double[] x, int off, int dim) {
+            double sum = 0, prod = 1;
+            for (int k = 0; k < dim; k++) {
+                double v = x[off + k];
+                sum += v * v;
+                double inv = k < INV_SQRT.length ? INV_SQRT[k] : 1.0 / Math.sqrt(k + 1);
+                prod *= Math.cos(v * inv);
+            }
+            return sum / 4000.0 - prod + 1.0;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            // out: sum of squares, scratch: product of cosines
+            for (int from = first, end = first + count; from < end; from += scratch.length) {
+                int to = Math.min(end, from + scratch.length);
+                java.util.Arrays.fill(out, from, to, 0.0);
+                java.util.Arrays.fill(scratch, 0, to - from, 1.0);
+                for (int k = 0; k < dim; k++) {
+                    int c = k * stride;
+                    double inv = k < INV_SQRT.length ? INV_SQRT[k] : 1.0 / Math.sqrt(k + 1);
+                    for (int i = from; i < to; i++) {
+                        double v = cols[c + i];
+                        out[i] += v * v;
+                        scratch[i - from] *= Math.cos(v * inv);
+                    }
+                }
+                for (int i = from; i < to; i++)
+                    out[i] = out[i] / 4000.0 - scratch[i - from] + 1.0;
+            }
+        }
+    },
+
+    SCHWEFEL(-500, 500) {
+        public double value(double[] x, int off, int dim) {
+            double s = 0;
+            for (int d = off, end = off + dim; d < end; d++)
+                s += x[d] * Math.sin(Math.sqrt(Math.abs(x[d])));
+            return 418.9828872724338 * dim - s;
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            int end = first + count;
+            java.util.Arrays.fill(out, first, end, 0.0);
+            for (int d = 0; d < dim; d++) {
+                int c = d * stride;
+                for (int i = first; i < end; i++) {
+                    double x = cols[c + i];
+                    out[i] += x * Math.sin(Math.sqrt(Math.abs(x)));
+                }
+            }
+            for (int i = first; i < end; i++)
+                out[i] = 418.9828872724338 * dim - out[i];
+        }
+    },
+
+    LEVY(-10, 10) {
+        public double value(double[] x, int off, int dim) {
+            double w0 = 1 + (x[off] - 1) * 0.25;
+            double s0 = Math.sin(Math.PI * w0);
+            double s = s0 * s0;
+            for (int d = off, end = off + dim - 1; d < end; d++) {
+                double w = 1 + (x[d] - 1) * 0.25;
+                double t = Math.sin(Math.PI * w + 1);
+                s += (w - 1) * (w - 1) * (1 + 10 * t * t);
+            }
+            double wn = 1 + (x[off + dim - 1] - 1) * 0.25;
+            double sn = Math.sin(TWO_PI * wn);
+            return s + (wn - 1) * (wn - 1) * (1 + sn * sn);
+        }
+
+        public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+                double[] scratch) {
+            int end = first + count;
+            for (int i = first; i < end; i++) {
+                double s0 = Math.sin(Math.PI * (1 + (cols[i] - 1) * 0.25));
+                out[i] = s0 * s0;
+            }
+            for (int d = 0; d < dim - 1; d++) {
+                int c = d * stride;
+                for (int i = first; i < end; i++) {
+                    double w = 1 + (cols[c + i] - 1) * 0.25;
+                    double t = Math.sin(Math.PI * w + 1);
+                    out[i] += (w - 1) * (w - 1) * (1 + 10 * t * t);
+                }
+            }
+            int c = (dim - 1) * stride;
+            for (int i = first; i < end; i++) {
+                double wn = 1 + (cols[c + i] - 1) * 0.25;
+                double sn = Math.sin(TWO_PI * wn);
+                out[i] += (wn - 1) * (wn - 1) * (1 + sn * sn);
+            }
+        }
+    };
+
+    static final double TWO_PI = 2 * Math.PI;
+
+    // 1/sqrt(k+1) for Griewank, precomputed for the first 4096 dimensions
+    static final double[] INV_SQRT = new double[4096];
+    static {
+        for (int k = 0; k < INV_SQRT.length; k++)
+            INV_SQRT[k] = 1.0 / Math.sqrt(k + 1);
+    }
+
+    final double lo, hi;
+
+    Objectives(double lo, double hi) {
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    public double lowerBound() {
+        return lo;
+    }
+
+    public double upperBound() {
+        return hi;
+    }
+
+    // Case-insensitive lookup, e.g. "rastrigin"
+    static Objectives byName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
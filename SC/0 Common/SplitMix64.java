@@ -0,0 +1,56 @@
+// Small, non-synchronized SplitMix64 generator (Steele, Lea & Flood 2014).
+// One long of state, a handful of shifts and multiplies per draw, and no
+// atomics, unlike java.util.Random. The state can be read and restored,
+// which checkpointing relies on, and split() derives an independent
+// stream for a worker or block.
+public final class SplitMix64 {
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    static final double DOUBLE_UNIT = 0x1.0p-53;
+    static final double HALF_UNIT = 0x1.0p-32;
+
+    long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Uniform in [0, 1) with 53 random bits
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    // Uniform in [0, bound)
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    // Two uniforms in [0, 1) with 32 bits each can be cut from one nextLong():
+    //   hi(z) = (z >>> 32) * HALF_UNIT, lo(z) = (z & 0xFFFFFFFFL) * HALF_UNIT
+    public static double hi(long z) {
+        return (z >>> 32) * HALF_UNIT;
+    }
+
+    public static double lo(long z) {
+        return (z & 0xFFFFFFFFL) * HALF_UNIT;
+    }
+
+    // Independent stream seeded from this one
+    public SplitMix64 split() {
+        return new SplitMix64(nextLong() ^ 0x6A09E667F3BCC909L);
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
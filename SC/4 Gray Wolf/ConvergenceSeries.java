@@ -0,0 +1,44 @@
+// Best-so-far history decimated to a fixed number of columns.
+// Column c covers iterations [c*maxIter/cols, (c+1)*maxIter/cols) and keeps
+// only the min and max value seen in that range, so memory and the cost of
+// drawing the whole history stay fixed however long the run is.
+//
+// One writer thread (the optimizer) calls add() once per iteration in
+// order; any number of readers may look at the columns below completed(),
+// which never change again once the volatile counter has moved past them.
+public class ConvergenceSeries {
+    final int cols, maxIter;
+    final double[] min, max;     // NaN until the column receives a value
+    private volatile int completed = 0;
+
+    ConvergenceSeries(int cols, int maxIter) {
+        this.cols = cols;
+        this.maxIter = Math.max(1, maxIter);
+        min = new double[cols];
+        max = new double[cols];
+        java.util.Arrays.fill(min, Double.NaN);
+        java.util.Arrays.fill(max, Double.NaN);
+    }
+
+    int column(long iter) {
+        return (int) (iter * cols / maxIter);
+    }
+
+    // Records the value of iteration iter (0-based, called in order)
+    void add(int iter, double v) {
+        int c = column(iter);
+        if (Double.isNaN(min[c]) || v < min[c]) min[c] = v;
+        if (Double.isNaN(max[c]) || v > max[c]) max[c] = v;
+        int done = column(iter + 1L);
+        if (done > completed) completed = done; // publishes min/max of the finished columns
+    }
+
+    // Number of leading columns that are final
+    int completed() {
+        return completed;
+    }
+
+    boolean finished() {
+        return completed == cols;
+    }
+}
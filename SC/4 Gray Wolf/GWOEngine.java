@@ -0,0 +1,403 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Gray Wolf Optimizer with a two-phase, block-parallel iteration.
+//   1) evaluate: every block scores its wolves and keeps its own top three
+//      (indices only, no shared writes)
+//   2) merge:    the block top-threes are offered to the Leaders in block
+//      order on the calling thread; no locks are involved
+//   3) update:   every block moves its wolves towards the (now read-only)
+//      alpha, beta and delta
+// The pack is cut into fixed blocks of BLOCK wolves, each with its own
+// SplitMix64 stream, so a seed gives the same run for any thread count.
+//
+// Positions are stored flat and dimension-major: coordinate d of wolf i is
+// pos[d*n + i]. The update walks one dimension at a time down a contiguous
+// run of wolves, with the leader coordinates hoisted out and the random
+// numbers drawn into a scratch buffer first, so the X1/X2/X3 arithmetic is
+// a branch-free loop the JIT can vectorize. This is what makes 30..1000
+// dimensional problems practical (see GWOLayoutBench).
+//
+// Three parts of the algorithm are pluggable, so the classic GWO and its
+// variants share one engine (see GWOVariantBench):
+//   Schedule       - the control parameter a(t); linear (GWO) or the
+//                    quadratic decay of mGWO
+//   Init           - the starting pack; uniform or a logistic chaotic map
+//   LeaderStrategy - extra work on the leaders after each merge; none, or
+//                    opposition-based learning on alpha, beta and delta
+//
+// With a Checkpoint attached, the pack, the leaders, the iteration and
+// evaluation counters and the block RNG states are saved every `every`
+// iterations; restore() on an engine built and configured the same way
+// continues the run bit-for-bit.
+public class GWOEngine {
+    static final int BLOCK = 1024;
+
+    // Control parameter a, from 2 down to 0 over maxIter iterations
+    interface Schedule {
+        double a(int iter, int maxIter);
+
+        // a = 2 - 2t/T, the original GWO
+        Schedule LINEAR = (t, T) -> 2.0 - 2.0 * t / (double) T;
+
+        // a = 2 (1 - t^2/T^2): stays large for longer (exploration), then
+        // drops quickly (exploitation); the mGWO schedule of Mittal et al.
+        Schedule MGWO = (t, T) -> {
+            double u = t / (double) T;
+            return 2.0 * (1.0 - u * u);
+        };
+    }
+
+    // Fills wolves [from, to) of a dimension-major pack from one block stream
+    interface Init {
+        void fill(double[] pos, int n, int dim, double lo, double hi, int from, int to, SplitMix64 r);
+
+        Init UNIFORM = (pos, n, dim, lo, hi, from, to, r) -> {
+            for (int i = from; i < to; i++)
+                for (int d = 0; d < dim; d++)
+                    pos[d * n + i] = lo + (hi - lo) * r.nextDouble();
+        };
+
+        // Logistic map x <- 4x(1-x) run along the dimensions of each wolf from
+        // a random seed point; covers the box more evenly than independent
+        // uniforms for small packs
+        Init CHAOTIC = (pos, n, dim, lo, hi, from, to, r) -> {
+            for (int i = from; i < to; i++) {
+                double x = 0.05 + 0.9 * r.nextDouble();
+                for (int d = 0; d < dim; d++) {
+                    x = 4.0 * x * (1.0 - x);
+                    // the map collapses onto 0 in floating point; restart it
+                    if (x <= 1e-12 || x >= 1.0 - 1e-12) x = 0.05 + 0.9 * r.nextDouble();
+                    pos[d * n + i] = lo + (hi - lo) * x;
+                }
+            }
+        };
+    }
+
+    // Runs on the calling thread after the block leaders have been merged and
+    // before the pack moves. Evaluations it makes must be added to e.evals.
+    interface LeaderStrategy {
+        void afterMerge(GWOEngine e);
+
+        LeaderStrategy NONE = e -> { };
+
+        // Opposition-based learning on the leaders: the opposite point of each
+        // leader inside the pack's current extent, x' = min_d + max_d - x,
+        // clamped to [lo, hi] like a moved wolf (a leader found in an earlier
+        // iteration can lie outside the current extent), is evaluated and
+        // offered to the leaders. Costs 3 evaluations per
+        // iteration. Holds scratch buffers, so use one instance per engine.
+        static LeaderStrategy opposition() {
+            return new LeaderStrategy() {
+                double[] min, max, opp;
+
+                public void afterMerge(GWOEngine e) {
+                    int n = e.n, dim = e.dim;
+                    if (opp == null) {
+                        min = new double[dim];
+                        max = new double[dim];
+                        opp = new double[3 * dim];
+                    }
+                    for (int d = 0; d < dim; d++) {
+                        double mn = Double.MAX_VALUE, mx = -Double.MAX_VALUE;
+                        for (int i = d * n, end = i + n; i < end; i++) {
+                            mn = Math.min(mn, e.pos[i]);
+                            mx = Math.max(mx, e.pos[i]);
+                        }
+                        min[d] = mn;
+                        max[d] = mx;
+                    }
+                    // build all three first: offering rotates the leader buffers
+                    double[][] src = { e.leaders.alpha, e.leaders.beta, e.leaders.delta };
+                    for (int k = 0; k < 3; k++)
+                        for (int d = 0; d < dim; d++)
+                            opp[k * dim + d] = Math.max(e.lo, Math.min(e.hi, min[d] + max[d] - src[k][d]));
+                    for (int k = 0; k < 3; k++)
+                        e.leaders.offer(e.f.value(opp, k * dim, dim), opp, k * dim);
+                    e.evals += 3;
+                }
+            };
+        }
+    }
+
+    final Objective f;
+    final int n, dim, maxIter;
+    final double lo, hi;
+    final double[] pos;        // [dim*n], dimension-major
+    final double[] scores;     // [n]
+    final Leaders leaders;
+    int iter = 0;
+    long evals = 0;             // objective evaluations so far
+
+    Schedule schedule = Schedule.LINEAR;
+    Init initializer = Init.UNIFORM;
+    LeaderStrategy strategy = LeaderStrategy.NONE;
+    boolean started = false;    // pack filled by the initializer yet?
+    double a;                   // control parameter for the current update
+
+    static final String CHECKPOINT_KIND = "GWO";
+    Checkpoint checkpoint;      // null -> no checkpoints
+    int checkpointEvery;
+
+    final int blocks;
+    final SplitMix64[] streams;
+    final int[] blockTop;       // [blocks*3] best three wolf indices per block (-1 = none)
+    final double[][] scratch;   // per block: 6 random numbers per wolf, or one gathered wolf
+    ForkJoinPool pool;          // null -> blocks run on the calling thread
+
+    GWOEngine(Objective f, int n, int dim, double lo, double hi, int maxIter, long seed) {
+        if (n < 3 || dim < 1) throw new IllegalArgumentException("need at least 3 wolves and 1 dimension");
+        this.f = f;
+        this.n = n;
+        this.dim = dim;
+        this.lo = lo;
+        this.hi = hi;
+        this.maxIter = maxIter;
+        this.pos = new double[dim * n];
+        this.scores = new double[n];
+        this.leaders = new Leaders(dim);
+        this.blocks = (n + BLOCK - 1) / BLOCK;
+        this.streams = new SplitMix64[blocks];
+        this.blockTop = new int[blocks * 3];
+        this.scratch = new double[blocks][Math.max(6 * Math.min(n, BLOCK), dim)];
+        SplitMix64 master = new SplitMix64(seed);
+        for (int b = 0; b < blocks; b++)
+            streams[b] = master.split();
+    }
+
+    GWOEngine schedule(Schedule s) {
+        schedule = s;
+        return this;
+    }
+
+    // Only takes effect before the first step
+    GWOEngine initialization(Init init) {
+        if (started) throw new IllegalStateException("pack already initialised");
+        initializer = init;
+        return this;
+    }
+
+    GWOEngine leaderStrategy(LeaderStrategy s) {
+        strategy = s;
+        return this;
+    }
+
+    // Fills the pack block by block; called by the first step
+    void init() {
+        for (int b = 0; b < blocks; b++)
+            initializer.fill(pos, n, dim, lo, hi, b * BLOCK, Math.min(n, (b + 1) * BLOCK), streams[b]);
+        started = true;
+    }
+
+    GWOEngine parallel(int threads) {
+        shutdown();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        return this;
+    }
+
+    // Saves the state to ck every `every` iterations (null = off)
+    GWOEngine checkpoint(Checkpoint ck, int every) {
+        if (ck != null && ck.payload != checkpointBytes())
+            throw new IllegalArgumentException("checkpoint holds " + ck.payload + " bytes, pack needs "
+                    + checkpointBytes());
+        checkpoint = ck;
+        checkpointEvery = Math.max(1, every);
+        return this;
+    }
+
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+
+    // One evaluate / merge / update iteration
+    void step() {
+        if (!started) init();
+        if (pool == null) {
+            for (int b = 0; b < blocks; b++) evaluateBlock(b);
+        } else {
+            pool.invoke(new BlockTask(0, blocks, true));
+        }
+
+        for (int b = 0; b < blocks; b++) {
+            for (int k = 0; k < 3; k++) {
+                int i = blockTop[b * 3 + k];
+                if (i >= 0) leaders.offerColumn(scores[i], pos, i, n);
+            }
+        }
+        evals += n;
+        strategy.afterMerge(this);
+        a = schedule.a(iter, maxIter);
+
+        if (pool == null) {
+            for (int b = 0; b < blocks; b++) updateBlock(b);
+        } else {
+            pool.invoke(new BlockTask(0, blocks, false));
+        }
+        iter++;
+        if (checkpoint != null && iter % checkpointEvery == 0) {
+            save(checkpoint.begin());
+            checkpoint.commit();
+        }
+    }
+
+    void run() {
+        while (iter < maxIter) step();
+    }
+
+    // Scores block b and records its best three wolves in index order
+    void evaluateBlock(int b) {
+        int start = b * BLOCK, end = Math.min(n, start + BLOCK);
+        f.evaluateColumns(pos, n, start, end - start, dim, scores, scratch[b]);
+        int i1 = -1, i2 = -1, i3 = -1;
+        double s1 = Double.MAX_VALUE, s2 = Double.MAX_VALUE, s3 = Double.MAX_VALUE;
+        for (int i = start; i < end; i++) {
+            double s = scores[i];
+            if (s < s1) {
+                i3 = i2; s3 = s2;
+                i2 = i1; s2 = s1;
+                i1 = i;  s1 = s;
+            } else if (s < s2) {
+                i3 = i2; s3 = s2;
+                i2 = i;  s2 = s;
+            } else if (s < s3) {
+                i3 = i;  s3 = s;
+            }
+        }
+        // offer in index order so the merge sees wolves as the sequential loop would
+        int base = b * 3;
+        blockTop[base] = i1;
+        blockTop[base + 1] = i2;
+        blockTop[base + 2] = i3;
+        sortSlots(base, base + 1);
+        sortSlots(base + 1, base + 2);
+        sortSlots(base, base + 1);
+    }
+
+    // Orders two blockTop slots by wolf index, empty (-1) slots last
+    private void sortSlots(int x, int y) {
+        int p = blockTop[x], q = blockTop[y];
+        if (p < 0 || (q >= 0 && q < p)) {
+            blockTop[x] = q;
+            blockTop[y] = p;
+        }
+    }
+
+    // Moves block b one dimension at a time. For each dimension the six
+    // uniforms per wolf (A and C for alpha, beta, delta) are drawn first,
+    // then the position update runs as a straight loop over the block.
+    void updateBlock(int b) {
+        SplitMix64 rand = streams[b];
+        double[] r = scratch[b];
+        double a = this.a;
+        double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
+        int start = b * BLOCK, len = Math.min(n, start + BLOCK) - start;
+        int r1 = len, r2 = 2 * len, r3 = 3 * len, r4 = 4 * len, r5 = 5 * len;
+        for (int d = 0; d < dim; d++) {
+            for (int k = 0; k < len; k++) {
+                long z1 = rand.nextLong(), z2 = rand.nextLong(), z3 = rand.nextLong();
+                r[k] = SplitMix64.hi(z1);
+                r[r1 + k] = SplitMix64.lo(z1);
+                r[r2 + k] = SplitMix64.hi(z2);
+                r[r3 + k] = SplitMix64.lo(z2);
+                r[r4 + k] = SplitMix64.hi(z3);
+                r[r5 + k] = SplitMix64.lo(z3);
+            }
+            double ad = alpha[d], bd = beta[d], dd = delta[d], a2 = 2 * a;
+            int c = d * n + start;
+            for (int k = 0; k < len; k++) {
+                double x = pos[c + k];
+                double X1 = ad - (a2 * r[k] - a) * Math.abs(2 * r[r1 + k] * ad - x);
+                double X2 = bd - (a2 * r[r2 + k] - a) * Math.abs(2 * r[r3 + k] * bd - x);
+                double X3 = dd - (a2 * r[r4 + k] - a) * Math.abs(2 * r[r5 + k] * dd - x);
+                pos[c + k] = Math.max(lo, Math.min(hi, (X1 + X2 + X3) / 3.0));
+            }
+        }
+    }
+
+    double bestValue() {
+        return leaders.alphaScore;
+    }
+
+    double[] bestPosition(double[] out) {
+        System.arraycopy(leaders.alpha, 0, out, 0, dim);
+        return out;
+    }
+
+    // ---------- checkpoint ----------
+    // Payload: int n, dim, maxIter, objective hash, iter, started; double lo,
+    // hi; long evals; double alpha/beta/delta scores; double[3*dim] leaders;
+    // long[blocks] RNG states; double[dim*n] pos; double[n] scores
+    long checkpointBytes() {
+        return 6 * 4 + 2 * 8 + 8 + 3 * 8 + 3L * dim * 8 + blocks * 8L + (long) dim * n * 8 + n * 8L;
+    }
+
+    void save(ByteBuffer b) {
+        b.putInt(n).putInt(dim).putInt(maxIter).putInt(f.name().hashCode()).putInt(iter).putInt(started ? 1 : 0);
+        b.putDouble(lo).putDouble(hi).putLong(evals);
+        b.putDouble(leaders.alphaScore).putDouble(leaders.betaScore).putDouble(leaders.deltaScore);
+        Checkpoint.putDoubles(b, leaders.alpha);
+        Checkpoint.putDoubles(b, leaders.beta);
+        Checkpoint.putDoubles(b, leaders.delta);
+        for (SplitMix64 r : streams) b.putLong(r.getState());
+        Checkpoint.putDoubles(b, pos);
+        Checkpoint.putDoubles(b, scores);
+    }
+
+    // Continues from a saved state; the engine must have been built with the
+    // same objective, pack size, dimension, bounds and iteration budget (and
+    // the same schedule and leader strategy, which are not stored)
+    void restore(ByteBuffer b) {
+        int cn = b.getInt(), cdim = b.getInt(), cmax = b.getInt(), hash = b.getInt(), citer = b.getInt(),
+                cstarted = b.getInt();
+        double clo = b.getDouble(), chi = b.getDouble();
+        if (cn != n || cdim != dim || cmax != maxIter || hash != f.name().hashCode() || clo != lo || chi != hi)
+            throw new IllegalArgumentException(String.format(
+                    "checkpoint is for a different pack (n=%d dim=%d maxIter=%d bounds=[%s, %s])",
+                    cn, cdim, cmax, clo, chi));
+        iter = citer;
+        started = cstarted != 0;
+        evals = b.getLong();
+        leaders.alphaScore = b.getDouble();
+        leaders.betaScore = b.getDouble();
+        leaders.deltaScore = b.getDouble();
+        Checkpoint.getDoubles(b, leaders.alpha);
+        Checkpoint.getDoubles(b, leaders.beta);
+        Checkpoint.getDoubles(b, leaders.delta);
+        for (SplitMix64 r : streams) r.setState(b.getLong());
+        Checkpoint.getDoubles(b, pos);
+        Checkpoint.getDoubles(b, scores);
+    }
+
+    // Copies wolf i out of the dimension-major array
+    double[] position(int i, double[] out) {
+        for (int d = 0; d < dim; d++) out[d] = pos[d * n + i];
+        return out;
+    }
+
+    // Splits a range of blocks across the pool (evaluate or update phase)
+    class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int from, to;
+        final boolean evaluate;
+
+        BlockTask(int from, int to, boolean evaluate) {
+            this.from = from;
+            this.to = to;
+            this.evaluate = evaluate;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (evaluate) evaluateBlock(from);
+                else updateBlock(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(from, mid, evaluate), new BlockTask(mid, to, evaluate));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Jagged vs flat dimension-major wolf storage, single-threaded, on 30 to
+// 1000 dimensional problems.
+//   jagged - double[n][dim], wolf-by-wolf update with the random numbers
+//            drawn inline (the layout of GWORosenbrock and GWOEngine before
+//            it went flat)
+//   flat   - GWOEngine: pos[d*n + i], dimension-by-dimension update over a
+//            contiguous run of wolves, column-wise evaluation
+// Both use the same SplitMix64 generator and Leaders, so the difference is
+// the memory layout and loop order. Draw order differs, so the alpha scores
+// are comparable in size but not identical.
+// Usage: java GWOLayoutBench [wolves] [iterations] [f] [dims...]
+public class GWOLayoutBench {
+    static final double MIN_BOUND = -5, MAX_BOUND = 5;
+
+    // ---------- jagged layout ----------
+    static class Jagged {
+        final Objective f;
+        final int n, dim, maxIter;
+        final double[][] wolves;
+        final Leaders leaders;
+        final SplitMix64 rand;
+        int iter = 0;
+
+        Jagged(Objective f, int n, int dim, int maxIter, long seed) {
+            this.f = f;
+            this.n = n;
+            this.dim = dim;
+            this.maxIter = maxIter;
+            this.wolves = new double[n][dim];
+            this.leaders = new Leaders(dim);
+            this.rand = new SplitMix64(seed);
+            for (double[] w : wolves)
+                for (int d = 0; d < dim; d++) w[d] = MIN_BOUND + (MAX_BOUND - MIN_BOUND) * rand.nextDouble();
+        }
+
+        void step() {
+            for (double[] w : wolves) leaders.offer(f.value(w), w);
+            double a = 2.0 - 2.0 * iter / (double) maxIter;
+            double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
+            for (double[] w : wolves) {
+                for (int d = 0; d < dim; d++) {
+                    long z1 = rand.nextLong(), z2 = rand.nextLong(), z3 = rand.nextLong();
+                    double X1 = alpha[d] - (2 * a * SplitMix64.hi(z1) - a) * Math.abs(2 * SplitMix64.lo(z1) * alpha[d] - w[d]);
+                    double X2 = beta[d] - (2 * a * SplitMix64.hi(z2) - a) * Math.abs(2 * SplitMix64.lo(z2) * beta[d] - w[d]);
+                    double X3 = delta[d] - (2 * a * SplitMix64.hi(z3) - a) * Math.abs(2 * SplitMix64.lo(z3) * delta[d] - w[d]);
+                    w[d] = Math.max(MIN_BOUND, Math.min(MAX_BOUND, (X1 + X2 + X3) / 3.0));
+                }
+            }
+            iter++;
+        }
+
+        void run() {
+            while (iter < maxIter) step();
+        }
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int iters = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        Objective f = args.length > 2 ? Objectives.byName(args[2]) : Objectives.ROSENBROCK;
+        int[] dims = { 30, 100, 300, 1000 };
+        if (args.length > 3) {
+            dims = new int[args.length - 3];
+            for (int i = 3; i < args.length; i++) dims[i - 3] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("=== GWO position layout: jagged vs flat dimension-major ===");
+        System.out.printf("f = %s, wolves = %d, iterations = %d, 1 thread%n%n", f.name(), n, iters);
+
+        // warm-up
+        new Jagged(f, n, 30, iters, 1).run();
+        new GWOEngine(f, n, 30, MIN_BOUND, MAX_BOUND, iters, 1).run();
+
+        System.out.printf("%5s | %-6s | %10s | %14s | %s%n", "dim", "layout", "ms", "ns/wolf-dim", "alpha score");
+        for (int dim : dims) {
+            double work = (double) n * dim * iters;
+
+            Jagged j = new Jagged(f, n, dim, iters, 42);
+            long t0 = System.nanoTime();
+            j.run();
+            double jaggedMs = (System.nanoTime() - t0) / 1e6;
+            System.out.printf("%5d | %-6s | %10.1f | %14.2f | %.6e%n", dim, "jagged", jaggedMs,
+                    jaggedMs * 1e6 / work, j.leaders.alphaScore);
+
+            GWOEngine e = new GWOEngine(f, n, dim, MIN_BOUND, MAX_BOUND, iters, 42);
+            t0 = System.nanoTime();
+            e.run();
+            double flatMs = (System.nanoTime() - t0) / 1e6;
+            System.out.printf("%5d | %-6s | %10.1f | %14.2f | %.6e  (%.2fx)%n", dim, "flat", flatMs,
+                    flatMs * 1e6 / work, e.bestValue(), jaggedMs / flatMs);
+        }
+    }
+}
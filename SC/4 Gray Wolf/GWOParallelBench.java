@@ -0,0 +1,75 @@
+import java.util.Random;
+
+// Throughput of the original single-threaded GWO loop (static Random,
+// per-wolf evaluate then update) against GWOEngine at 1..maxThreads
+// threads, in wolf-iterations per second. Also checks that GWOEngine
+// gives the same alpha score for every thread count.
+// Usage: java GWOParallelBench [iterations] [dim] [maxThreads] [seed]
+public class GWOParallelBench {
+    static final int[] PACK_SIZES = { 1_000, 10_000, 100_000 };
+    static final double MIN_BOUND = -5, MAX_BOUND = 5;
+
+    // The GWORosenbrock main loop, without the console output
+    static double original(int n, int dim, int maxIter, long seed) {
+        Random rand = new Random(seed);
+        double[][] wolves = new double[n][dim];
+        for (double[] w : wolves)
+            for (int d = 0; d < dim; d++) w[d] = MIN_BOUND + (MAX_BOUND - MIN_BOUND) * rand.nextDouble();
+        Leaders leaders = new Leaders(dim);
+        for (int iter = 0; iter < maxIter; iter++) {
+            for (double[] w : wolves) leaders.offer(Objectives.ROSENBROCK.value(w), w);
+            double a = 2.0 - (2.0 * iter / (double) maxIter);
+            double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
+            for (double[] w : wolves) {
+                for (int d = 0; d < dim; d++) {
+                    double X1 = alpha[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * alpha[d] - w[d]);
+                    double X2 = beta[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * beta[d] - w[d]);
+                    double X3 = delta[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * delta[d] - w[d]);
+                    double x = (X1 + X2 + X3) / 3.0;
+                    if (x < MIN_BOUND) x = MIN_BOUND;
+                    if (x > MAX_BOUND) x = MAX_BOUND;
+                    w[d] = x;
+                }
+            }
+        }
+        return leaders.alphaScore;
+    }
+
+    public static void main(String[] args) {
+        int iters = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        System.out.println("=== Parallel GWO throughput (Rosenbrock) ===");
+        System.out.printf("iterations = %d, dim = %d, cores = %d, seed = %d%n%n",
+                iters, dim, Runtime.getRuntime().availableProcessors(), seed);
+
+        // warm-up
+        original(2_000, dim, iters, 1);
+        GWOEngine warm = new GWOEngine(Objectives.ROSENBROCK, 2_000, dim, MIN_BOUND, MAX_BOUND, iters, 1).parallel(maxThreads);
+        warm.run();
+        warm.shutdown();
+
+        System.out.printf("%8s | %-10s | %10s | %14s | %s%n", "wolves", "variant", "ms", "Mwolf-it/s", "alpha score");
+        for (int n : PACK_SIZES) {
+            long t0 = System.nanoTime();
+            double orig = original(n, dim, iters, seed);
+            double ms = (System.nanoTime() - t0) / 1e6;
+            System.out.printf("%8d | %-10s | %10.1f | %14.2f | %.6e%n", n, "original", ms, n * (double) iters / ms / 1e3, orig);
+
+            double ref = Double.NaN;
+            for (int t = 1; t <= maxThreads; t = (t < maxThreads && t * 2 > maxThreads) ? maxThreads : t * 2) {
+                GWOEngine e = new GWOEngine(Objectives.ROSENBROCK, n, dim, MIN_BOUND, MAX_BOUND, iters, seed).parallel(t);
+                t0 = System.nanoTime();
+                e.run();
+                ms = (System.nanoTime() - t0) / 1e6;
+                e.shutdown();
+                if (t == 1) ref = e.bestValue();
+                System.out.printf("%8d | %-10s | %10.1f | %14.2f | %.6e %s%n", n, "engine x" + t, ms,
+                        n * (double) iters / ms / 1e3, e.bestValue(), e.bestValue() == ref ? "" : "(MISMATCH)");
+                if (t == maxThreads) break;
+            }
+        }
+    }
+}
@@ -11,11 +11,9 @@ public class GWORosenbrock {
 
     static Random rand = new Random();
 
-    // Rosenbrock function
+    // Rosenbrock function (shared kernel from ../0 Common)
     public static double rosenbrock(double[] pos) {
-        double x = pos[0];
-        double y = pos[1];
-        return Math.pow(1 - x, 2) + 100 * Math.pow(y - x * x, 2);
+        return Objectives.ROSENBROCK.value(pos);
     }
 
     // Clamp within bounds
@@ -69,39 +67,20 @@ public class GWORosenbrock {
             }
         }
 
-        double[] alpha = new double[DIMENSIONS];
-        double[] beta  = new double[DIMENSIONS];
-        double[] delta = new double[DIMENSIONS];
-        double alphaScore = Double.MAX_VALUE;
-        double betaScore  = Double.MAX_VALUE;
-        double deltaScore = Double.MAX_VALUE;
+        // alpha/beta/delta in preallocated buffers (no cloning on leader change)
+        Leaders leaders = new Leaders(DIMENSIONS);
 
         // Main loop
         for (int iter = 0; iter < MAX_ITER; iter++) {
             // Evaluate wolves
             for (int i = 0; i < WOLF_COUNT; i++) {
                 double score = rosenbrock(wolves[i]);
-
-                if (score < alphaScore) {
-                    // Shift down
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = alphaScore;
-                    beta = alpha.clone();
-                    alphaScore = score;
-                    alpha = wolves[i].clone();
-                } else if (score < betaScore) {
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = score;
-                    beta = wolves[i].clone();
-                } else if (score < deltaScore) {
-                    deltaScore = score;
-                    delta = wolves[i].clone();
-                }
+                leaders.offer(score, wolves[i]);
             }
 
-            double a = 2.0 - (2.0 * iter / (double) MAX_ITER); // decreasing from 2 to 0
+            double a = GWOEngine.Schedule.LINEAR.a(iter, MAX_ITER); // decreasing from 2 to 0
+
+            double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
 
             // Update positions
             for (int i = 0; i < WOLF_COUNT; i++) {
@@ -131,12 +110,12 @@ public class GWORosenbrock {
 
             if (iter % Math.max(1, MAX_ITER / 10) == 0) {
                 System.out.printf("Iter %4d / %d : Best = %.8f at (%.6f, %.6f)%n",
-                        iter, MAX_ITER, alphaScore, alpha[0], alpha[1]);
+                        iter, MAX_ITER, leaders.alphaScore, leaders.alpha[0], leaders.alpha[1]);
             }
         }
 
         System.out.printf("%nFinal Best: f(%.6f, %.6f) = %.10f%n",
-                alpha[0], alpha[1], alphaScore);
+                leaders.alpha[0], leaders.alpha[1], leaders.alphaScore);
 
         sc.close();
     }
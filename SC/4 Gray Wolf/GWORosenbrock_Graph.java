@@ -1,11 +1,9 @@
 import java.util.Random;
 import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public class GWORosenbrock_Graph {
     // Predefined (default) parameters
@@ -17,11 +15,9 @@ public class GWORosenbrock_Graph {
 
     static Random rand = new Random();
 
-    // Rosenbrock function
+    // Rosenbrock function (shared kernel from ../0 Common)
     public static double rosenbrock(double[] pos) {
-        double x = pos[0];
-        double y = pos[1];
-        return Math.pow(1 - x, 2) + 100 * Math.pow(y - x * x, 2);
+        return Objectives.ROSENBROCK.value(pos);
     }
 
     // Clamp within bounds
@@ -32,92 +28,33 @@ public class GWORosenbrock_Graph {
     }
 
     // ---------- Simple panels for graphs ----------
-    static class ConvergencePanel extends JPanel {
-        final double[] bestHistory;
-        final int iters;
-
-        ConvergencePanel(double[] bestHistory, int iters) {
-            this.bestHistory = bestHistory;
-            this.iters = iters;
-            setPreferredSize(new Dimension(600, 360));
-        }
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            int W = getWidth(), H = getHeight(), m = 45;
-            // axes
-            g2.setColor(Color.BLACK);
-            g2.drawLine(m, H - m, W - m, H - m);
-            g2.drawLine(m, H - m, m, m);
-            g2.drawString("Iteration", W / 2 - 25, H - 12);
-            g2.rotate(-Math.PI / 2);
-            g2.drawString("Best f(x)", -H / 2 + 5, 15);
-            g2.rotate(Math.PI / 2);
-
-            // min/max
-            double ymin = Double.POSITIVE_INFINITY, ymax = Double.NEGATIVE_INFINITY;
-            for (int i = 0; i < iters; i++) {
-                double v = bestHistory[i];
-                if (Double.isFinite(v)) {
-                    ymin = Math.min(ymin, v);
-                    ymax = Math.max(ymax, v);
-                }
-            }
-            if (!Double.isFinite(ymin) || !Double.isFinite(ymax) || ymin == ymax) {
-                ymin = 0; ymax = 1;
-            }
-
-            // grid
-            g2.setColor(new Color(230, 230, 230));
-            for (int i = 0; i <= 10; i++) {
-                int x = m + i * (W - 2 * m) / 10;
-                int y = H - m - i * (H - 2 * m) / 10;
-                g2.drawLine(x, m, x, H - m);
-                g2.drawLine(m, y, W - m, y);
-            }
-
-            // ticks
-            g2.setColor(Color.BLACK);
-            g2.setFont(g2.getFont().deriveFont(12f));
-            for (int i = 0; i <= 10; i++) {
-                int x = m + i * (W - 2 * m) / 10;
-                int y = H - m - i * (H - 2 * m) / 10;
-                g2.drawString(String.valueOf(i * iters / 10), x - 10, H - m + 18);
-                double yval = ymin + (ymax - ymin) * (i / 10.0);
-                g2.drawString(String.format("%.2e", yval), 5, y + 4);
-            }
-
-            // plot
-            g2.setColor(new Color(66, 135, 245));
-            g2.setStroke(new BasicStroke(2f));
-            int px = -1, py = -1;
-            for (int i = 0; i < iters; i++) {
-                double v = bestHistory[i];
-                double tx = i / (double) Math.max(1, iters - 1);
-                double ty = (v - ymin) / (ymax - ymin);
-                int x = m + (int) Math.round(tx * (W - 2 * m));
-                int y = H - m - (int) Math.round(ty * (H - 2 * m));
-                if (px != -1) g2.drawLine(px, py, x, y);
-                px = x; py = y;
-            }
-            g2.drawString("Convergence (best fitness vs iteration)", m, m - 10);
+    // Convergence uses GWO_Converge.ConvergencePanel over a ConvergenceSeries.
+
+    // One published state of the pack; never modified after construction
+    static final class Snapshot {
+        final int iter;
+        final double best;
+        final double[] xy;     // wolves as x0, y0, x1, y1, ...
+        final double[] alpha;  // [2]
+
+        Snapshot(int iter, double best, double[] xy, double[] alpha) {
+            this.iter = iter;
+            this.best = best;
+            this.xy = xy;
+            this.alpha = alpha;
         }
     }
 
+    // Draws whatever snapshot is newest when the timer fires
     static class SwarmPanel extends JPanel {
-        final List<double[][]> frames;   // wolves per frame: [N][2]
-        final List<double[]> prey;       // alpha per frame: [2]
+        final SnapshotChannel<Snapshot> channel;
         final double lo, hi;
-        int idx = 0;
+        final int maxIter;
 
-        SwarmPanel(List<double[][]> frames, List<double[]> prey, double lo, double hi) {
-            this.frames = frames;
-            this.prey = prey;
+        SwarmPanel(SnapshotChannel<Snapshot> channel, double lo, double hi, int maxIter) {
+            this.channel = channel;
             this.lo = lo; this.hi = hi;
+            this.maxIter = maxIter;
             setPreferredSize(new Dimension(600, 360));
         }
 
@@ -145,78 +82,45 @@ public class GWORosenbrock_Graph {
                 g2.drawLine(m, y, W - m, y);
             }
 
-            if (frames.isEmpty()) return;
-            double[][] pts = frames.get(idx);
-            double[] pbest = prey.get(idx);
+            Snapshot snap = channel.latest();
+            if (snap == null) return;
+            double[] xy = snap.xy, pbest = snap.alpha;
 
             // wolves
             g2.setColor(new Color(66, 135, 245));
             int r = 5;
-            for (double[] p : pts) {
-                int x = m + (int) Math.round((p[0] - lo) / (hi - lo) * (W - 2 * m));
-                int y = H - m - (int) Math.round((p[1] - lo) / (hi - lo) * (H - 2 * m));
+            for (int i = 0; i < xy.length; i += 2) {
+                int x = m + (int) Math.round((xy[i] - lo) / (hi - lo) * (W - 2 * m));
+                int y = H - m - (int) Math.round((xy[i + 1] - lo) / (hi - lo) * (H - 2 * m));
                 g2.fillOval(x - r, y - r, 2 * r, 2 * r);
             }
 
             // prey (alpha) in red
-            if (pbest != null) {
-                g2.setColor(Color.RED);
-                int x = m + (int) Math.round((pbest[0] - lo) / (hi - lo) * (W - 2 * m));
-                int y = H - m - (int) Math.round((pbest[1] - lo) / (hi - lo) * (H - 2 * m));
-                g2.fillOval(x - 6, y - 6, 12, 12);
-                g2.setColor(Color.DARK_GRAY);
-                g2.drawString(String.format("Prey (alpha): (%.3f, %.3f)", pbest[0], pbest[1]), m + 8, m + 14);
-            }
-
-            // frame label
+            g2.setColor(Color.RED);
+            int x = m + (int) Math.round((pbest[0] - lo) / (hi - lo) * (W - 2 * m));
+            int y = H - m - (int) Math.round((pbest[1] - lo) / (hi - lo) * (H - 2 * m));
+            g2.fillOval(x - 6, y - 6, 12, 12);
             g2.setColor(Color.DARK_GRAY);
-            g2.drawString("Frame: " + (idx + 1) + " / " + frames.size(), W - 150, m - 10);
-        }
+            g2.drawString(String.format("Prey (alpha): (%.3f, %.3f)  best = %.3e", pbest[0], pbest[1], snap.best),
+                    m + 8, m + 14);
 
-        void next() {
-            if (!frames.isEmpty()) {
-                idx = (idx + 1) % frames.size();
-                repaint();
-            }
+            // iteration label
+            g2.drawString("Iteration: " + (snap.iter + 1) + " / " + maxIter, W - 170, m - 10);
         }
     }
     // ---------- end panels ----------
 
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-
-        // --- Input: population (wolves) and iterations ---
-        System.out.print("Enter population size (press Enter for " + DEFAULT_WOLF_COUNT + "): ");
-        String inp = sc.nextLine().trim();
-        int WOLF_COUNT;
-        try {
-            WOLF_COUNT = inp.isEmpty() ? DEFAULT_WOLF_COUNT : Integer.parseInt(inp);
-        } catch (Exception e) {
-            WOLF_COUNT = DEFAULT_WOLF_COUNT;
-        }
-
-        System.out.print("Enter max iterations (press Enter for " + DEFAULT_MAX_ITER + "): ");
-        inp = sc.nextLine().trim();
-        int MAX_ITER;
-        try {
-            MAX_ITER = inp.isEmpty() ? DEFAULT_MAX_ITER : Integer.parseInt(inp);
-        } catch (Exception e) {
-            MAX_ITER = DEFAULT_MAX_ITER;
+    static Snapshot snapshot(int iter, Leaders leaders, double[][] wolves) {
+        double[] xy = new double[2 * wolves.length];
+        for (int i = 0; i < wolves.length; i++) {
+            xy[2 * i] = wolves[i][0];
+            xy[2 * i + 1] = wolves[i][1];
         }
+        return new Snapshot(iter, leaders.alphaScore, xy, new double[] { leaders.alpha[0], leaders.alpha[1] });
+    }
 
-        // --- Display predefined and chosen (defined) parameters ---
-        System.out.println("\n=== Parameters ===");
-        System.out.println("Predefined:");
-        System.out.printf("  DIMENSIONS         = %d%n", DIMENSIONS);
-        System.out.printf("  MIN_BOUND          = %.2f%n", MIN_BOUND);
-        System.out.printf("  MAX_BOUND          = %.2f%n", MAX_BOUND);
-        System.out.printf("  DEFAULT_WOLF_COUNT = %d%n", DEFAULT_WOLF_COUNT);
-        System.out.printf("  DEFAULT_MAX_ITER   = %d%n", DEFAULT_MAX_ITER);
-        System.out.println("Chosen (defined):");
-        System.out.printf("  WOLF_COUNT         = %d%n", WOLF_COUNT);
-        System.out.printf("  MAX_ITER           = %d%n", MAX_ITER);
-        System.out.println("==================\n");
-
+    // Runs the optimizer on the calling (worker) thread; never waits for the UI
+    static void optimize(int WOLF_COUNT, int MAX_ITER, ConvergenceSeries series, SnapshotChannel<Snapshot> channel) {
         double[][] wolves = new double[WOLF_COUNT][DIMENSIONS];
 
         // Random initialization
@@ -226,46 +130,26 @@ public class GWORosenbrock_Graph {
             }
         }
 
-        double[] alpha = new double[DIMENSIONS];
-        double[] beta  = new double[DIMENSIONS];
-        double[] delta = new double[DIMENSIONS];
-        double alphaScore = Double.MAX_VALUE;
-        double betaScore  = Double.MAX_VALUE;
-        double deltaScore = Double.MAX_VALUE;
-
-        // For graphs
-        double[] bestHistory = new double[MAX_ITER];
-        List<double[][]> frames = new ArrayList<>();
-        List<double[]>   preyHistory = new ArrayList<>();
-        int frameStride = Math.max(1, MAX_ITER / 200); // ~200 frames max
+        // alpha/beta/delta in preallocated buffers (no cloning on leader change)
+        Leaders leaders = new Leaders(DIMENSIONS);
+
         int progressStep = Math.max(1, MAX_ITER / 10);
 
-        // Main loop
+        // Main loop (ends early when the worker is interrupted: window closed)
         for (int iter = 0; iter < MAX_ITER; iter++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.out.printf("Window closed: stopped after %d iterations%n", iter);
+                break;
+            }
             // Evaluate wolves
             for (int i = 0; i < WOLF_COUNT; i++) {
                 double score = rosenbrock(wolves[i]);
-
-                if (score < alphaScore) {
-                    // Shift down
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = alphaScore;
-                    beta = alpha.clone();
-                    alphaScore = score;
-                    alpha = wolves[i].clone();
-                } else if (score < betaScore) {
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = score;
-                    beta = wolves[i].clone();
-                } else if (score < deltaScore) {
-                    deltaScore = score;
-                    delta = wolves[i].clone();
-                }
+                leaders.offer(score, wolves[i]);
             }
 
-            double a = 2.0 - (2.0 * iter / (double) MAX_ITER); // decreasing from 2 to 0
+            double a = GWOEngine.Schedule.LINEAR.a(iter, MAX_ITER); // decreasing from 2 to 0
+
+            double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
 
             // Update positions
             for (int i = 0; i < WOLF_COUNT; i++) {
@@ -293,35 +177,68 @@ public class GWORosenbrock_Graph {
                 }
             }
 
-            // record history
-            bestHistory[iter] = alphaScore;
-            if (iter % frameStride == 0) {
-                double[][] snap = new double[WOLF_COUNT][2];
-                for (int i = 0; i < WOLF_COUNT; i++) {
-                    snap[i][0] = wolves[i][0];
-                    snap[i][1] = wolves[i][1];
-                }
-                frames.add(snap);
-                preyHistory.add(alpha.clone()); // alpha as "prey"
-            }
+            // record history; a new snapshot only once the panel took the last one
+            series.add(iter, leaders.alphaScore);
+            if (channel.wanted() || iter == MAX_ITER - 1)
+                channel.publish(snapshot(iter, leaders, wolves));
 
             if (iter % progressStep == 0) {
                 System.out.printf("Iter %4d / %d : Best = %.8f at (%.6f, %.6f)%n",
-                        iter, MAX_ITER, alphaScore, alpha[0], alpha[1]);
+                        iter, MAX_ITER, leaders.alphaScore, leaders.alpha[0], leaders.alpha[1]);
             }
         }
 
         System.out.printf("%nFinal Best: f(%.6f, %.6f) = %.10f%n",
-                alpha[0], alpha[1], alphaScore);
+                leaders.alpha[0], leaders.alpha[1], leaders.alphaScore);
+    }
+
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+
+        // --- Input: population (wolves) and iterations ---
+        System.out.print("Enter population size (press Enter for " + DEFAULT_WOLF_COUNT + "): ");
+        String inp = sc.nextLine().trim();
+        int WOLF_COUNT;
+        try {
+            WOLF_COUNT = inp.isEmpty() ? DEFAULT_WOLF_COUNT : Integer.parseInt(inp);
+        } catch (Exception e) {
+            WOLF_COUNT = DEFAULT_WOLF_COUNT;
+        }
+
+        System.out.print("Enter max iterations (press Enter for " + DEFAULT_MAX_ITER + "): ");
+        inp = sc.nextLine().trim();
+        int MAX_ITER;
+        try {
+            MAX_ITER = inp.isEmpty() ? DEFAULT_MAX_ITER : Integer.parseInt(inp);
+        } catch (Exception e) {
+            MAX_ITER = DEFAULT_MAX_ITER;
+        }
+
+        // --- Display predefined and chosen (defined) parameters ---
+        System.out.println("\n=== Parameters ===");
+        System.out.println("Predefined:");
+        System.out.printf("  DIMENSIONS         = %d%n", DIMENSIONS);
+        System.out.printf("  MIN_BOUND          = %.2f%n", MIN_BOUND);
+        System.out.printf("  MAX_BOUND          = %.2f%n", MAX_BOUND);
+        System.out.printf("  DEFAULT_WOLF_COUNT = %d%n", DEFAULT_WOLF_COUNT);
+        System.out.printf("  DEFAULT_MAX_ITER   = %d%n", DEFAULT_MAX_ITER);
+        System.out.println("Chosen (defined):");
+        System.out.printf("  WOLF_COUNT         = %d%n", WOLF_COUNT);
+        System.out.printf("  MAX_ITER           = %d%n", MAX_ITER);
+        System.out.println("==================\n");
 
         sc.close();
 
-        // ---------- Show simple graphs ----------
+        ConvergenceSeries series = new ConvergenceSeries(GWO_Converge.SERIES_COLUMNS, MAX_ITER);
+        SnapshotChannel<Snapshot> channel = new SnapshotChannel<>();
+        final int iters = MAX_ITER;
+
+        final int wolfCount = WOLF_COUNT;
+        Thread worker = new Thread(() -> optimize(wolfCount, iters, series, channel), "gwo-optimizer");
         SwingUtilities.invokeLater(() -> {
             JTabbedPane tabs = new JTabbedPane();
-            tabs.addTab("Convergence", new ConvergencePanel(bestHistory, bestHistory.length));
-            SwarmPanel sp = new SwarmPanel(frames, preyHistory, MIN_BOUND, MAX_BOUND);
-            tabs.addTab("Fox & Prey (Replay)", sp);
+            tabs.addTab("Convergence", new GWO_Converge.ConvergencePanel(series, iters));
+            tabs.addTab("Fox & Prey (live)", new SwarmPanel(channel, MIN_BOUND, MAX_BOUND, iters));
 
             JFrame f = new JFrame("GWO – Convergence & Fox Running for Prey");
             f.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -329,11 +246,16 @@ public class GWORosenbrock_Graph {
             f.pack();
             f.setLocationRelativeTo(null);
             f.setVisible(true);
-
-            // simple animation timer
-            new Timer(80, new ActionListener() {
-                @Override public void actionPerformed(ActionEvent e) { sp.next(); }
-            }).start();
+            Timer repaint = new Timer(40, e -> tabs.repaint());
+            f.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    repaint.stop();
+                    worker.interrupt();
+                }
+            });
+            repaint.start();
         });
+        worker.start();
     }
 }
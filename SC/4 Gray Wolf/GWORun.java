@@ -0,0 +1,93 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Headless long GWO run on GWOEngine with checkpoint/resume.
+// The pack state is saved to --checkpoint every --every iterations. Running
+// the same command again after a crash or preemption picks up from the last
+// checkpoint and finishes with exactly the result of an uninterrupted run.
+//
+// Example:
+//   java GWORun --f rastrigin --wolves 10000 --dim 100 --iter 100000 --threads 8 \
+//        --checkpoint gwo.ckpt --every 500
+// --sync forces every checkpoint to disk (survives power loss, slower).
+// --surrogate N screens wolves through a SurrogateScreen with an N-point
+// archive, so only unexplored or promising wolves reach the objective. The
+// archive is not part of the checkpoint: a resumed run starts it empty.
+// --polish nm|lbfgs hands alpha to a local search when the pack stagnates
+// (HybridGWO); --target stops the run once the best value reaches it.
+public class GWORun {
+    public static void main(String[] args) throws IOException {
+        Objective f = Objectives.ROSENBROCK;
+        int wolves = 30, dim = 2, maxIter = 1000, threads = 1, every = 1000, surrogate = 0;
+        long seed = 1;
+        String file = null, polish = null;
+        double target = -Double.MAX_VALUE;
+        boolean sync = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i];
+            if (key.equals("--sync")) {
+                sync = true;
+                continue;
+            }
+            String val = i + 1 < args.length ? args[++i] : "";
+            switch (key) {
+                case "--f":          f = Objectives.byName(val); break;
+                case "--wolves":     wolves = Integer.parseInt(val); break;
+                case "--dim":        dim = Integer.parseInt(val); break;
+                case "--iter":       maxIter = Integer.parseInt(val); break;
+                case "--seed":       seed = Long.parseLong(val); break;
+                case "--threads":    threads = Integer.parseInt(val); break;
+                case "--checkpoint": file = val; break;
+                case "--every":      every = Integer.parseInt(val); break;
+                case "--surrogate":  surrogate = Integer.parseInt(val); break;
+                case "--polish":     polish = val; break;
+                case "--target":     target = Double.parseDouble(val); break;
+                default: throw new IllegalArgumentException("unknown option: " + key);
+            }
+        }
+
+        System.out.println("=== GWO run ===");
+        System.out.printf("f = %s, wolves = %d, dim = %d, iter = %d, seed = %d, threads = %d%n",
+                f.name(), wolves, dim, maxIter, seed, threads);
+
+        SurrogateScreen screen = surrogate > 0
+                ? new SurrogateScreen(f, wolves, dim, f.lowerBound(), f.upperBound(), surrogate) : null;
+        GWOEngine e = new GWOEngine(screen != null ? screen : f, wolves, dim, f.lowerBound(), f.upperBound(), maxIter,
+                seed).parallel(threads);
+        if (screen != null) e.leaderStrategy(screen);
+        HybridGWO hybrid = new HybridGWO(e).target(target);
+        if (polish != null) hybrid.polish(LocalSearch.byName(polish), 20, 500L * dim);
+        else hybrid.noPolish();
+        if (file != null) {
+            Path path = Paths.get(file);
+            ByteBuffer saved = Checkpoint.load(path, GWOEngine.CHECKPOINT_KIND);
+            if (saved != null) {
+                e.restore(saved);
+                System.out.printf("resuming from %s at iteration %d (best = %.10e)%n", path, e.iter, e.bestValue());
+            }
+            e.checkpoint(Checkpoint.open(path, GWOEngine.CHECKPOINT_KIND, e.checkpointBytes()).sync(sync), every);
+            System.out.printf("checkpointing to %s every %d iterations (%.1f MB)%n", path, every,
+                    e.checkpointBytes() / 1e6);
+        }
+
+        int progressStep = Math.max(1, maxIter / 10);
+        long t0 = System.nanoTime();
+        while (e.iter < maxIter && e.bestValue() > target) {
+            hybrid.step(Long.MAX_VALUE);
+            if (e.iter % progressStep == 0)
+                System.out.printf("Iter %7d / %d : best = %.10e%n", e.iter, maxIter, e.bestValue());
+        }
+        e.shutdown();
+        if (polish != null)
+            System.out.printf("%n%s: %d polishes, %d evaluations%n", hybrid.local.name(), hybrid.polishes,
+                    hybrid.localEvals);
+        if (screen != null)
+            System.out.printf("%nsurrogate: %d true evaluations, %d wolves screened out, %d reused archived values%n",
+                    screen.trueEvals, screen.screened, screen.reused);
+        System.out.printf("%nFinal best: %.12e after %d evaluations (%.1f s this session)%n", e.bestValue(), e.evals,
+                (System.nanoTime() - t0) / 1e9);
+    }
+}
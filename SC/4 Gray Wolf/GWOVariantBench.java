@@ -0,0 +1,84 @@
+// Objective evaluations needed to reach a target, for the GWO variants
+// that GWOEngine can be assembled into:
+//   gwo      - linear a, uniform start, no leader strategy (the original)
+//   mgwo     - quadratic a schedule
+//   chaotic  - logistic-map start
+//   obl      - opposition-based learning on the leaders
+//   mgwo+all - mGWO schedule + chaotic start + opposition
+// Every variant runs the same seeds. Evaluations include the extra ones
+// spent by opposition-based learning. After every run the three leaders
+// are checked to lie inside [lo, hi].
+// Usage: java GWOVariantBench [wolves] [dim] [iterations] [reps]
+public class GWOVariantBench {
+    static final String[] VARIANTS = { "gwo", "mgwo", "chaotic", "obl", "mgwo+all" };
+    static final Objectives[] FUNCTIONS = {
+        Objectives.SPHERE, Objectives.ROSENBROCK, Objectives.RASTRIGIN, Objectives.ACKLEY, Objectives.GRIEWANK,
+        Objectives.SCHWEFEL
+    };
+    static final double[] TARGETS = { 1e-8, 30, 1e-6, 1e-6, 1e-8, 1e-4 };
+
+    static GWOEngine build(String variant, Objective f, int n, int dim, int maxIter, long seed) {
+        GWOEngine e = new GWOEngine(f, n, dim, f.lowerBound(), f.upperBound(), maxIter, seed);
+        switch (variant) {
+            case "gwo":      return e;
+            case "mgwo":     return e.schedule(GWOEngine.Schedule.MGWO);
+            case "chaotic":  return e.initialization(GWOEngine.Init.CHAOTIC);
+            case "obl":      return e.leaderStrategy(GWOEngine.LeaderStrategy.opposition());
+            case "mgwo+all": return e.schedule(GWOEngine.Schedule.MGWO)
+                                     .initialization(GWOEngine.Init.CHAOTIC)
+                                     .leaderStrategy(GWOEngine.LeaderStrategy.opposition());
+            default: throw new IllegalArgumentException("unknown variant: " + variant);
+        }
+    }
+
+    // Throws if alpha, beta or delta has left the search box
+    static void checkLeaders(GWOEngine e, String variant) {
+        double[][] leaders = { e.leaders.alpha, e.leaders.beta, e.leaders.delta };
+        for (double[] l : leaders)
+            for (int d = 0; d < e.dim; d++)
+                if (!(l[d] >= e.lo && l[d] <= e.hi))
+                    throw new IllegalStateException(String.format("%s on %s: leader at %g outside [%g, %g] (d = %d)",
+                            variant, e.f.name(), l[d], e.lo, e.hi, d));
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int maxIter = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int reps = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        System.out.println("=== GWO variants: evaluations to target ===");
+        System.out.printf("wolves = %d, dim = %d, max iterations = %d, reps = %d%n%n", n, dim, maxIter, reps);
+        System.out.printf("%-10s %8s | %-8s | %7s | %12s | %12s%n", "f", "target", "variant", "hits", "mean evals", "median best");
+
+        for (int k = 0; k < FUNCTIONS.length; k++) {
+            Objective f = FUNCTIONS[k];
+            double target = TARGETS[k];
+            for (String v : VARIANTS) {
+                int hits = 0;
+                double evalSum = 0;
+                double[] best = new double[reps];
+                for (int r = 0; r < reps; r++) {
+                    GWOEngine e = build(v, f, n, dim, maxIter, 1000 + r);
+                    long hitAt = -1;
+                    while (e.iter < maxIter) {
+                        e.step();
+                        if (hitAt < 0 && e.bestValue() <= target) {
+                            hitAt = e.evals;
+                            break;
+                        }
+                    }
+                    checkLeaders(e, v);
+                    best[r] = e.bestValue();
+                    if (hitAt >= 0) {
+                        hits++;
+                        evalSum += hitAt;
+                    }
+                }
+                java.util.Arrays.sort(best);
+                System.out.printf("%-10s %8.0e | %-8s | %3d/%-3d | %12s | %12.4e%n", f.name(), target, v, hits, reps,
+                        hits > 0 ? String.format("%.0f", evalSum / hits) : "-", best[reps / 2]);
+            }
+        }
+    }
+}
@@ -1,9 +1,10 @@
 import java.util.Random;
 import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
 
 public class GWO_Converge {
     // Predefined (default) parameters
@@ -13,13 +14,13 @@ public class GWO_Converge {
     static final double MIN_BOUND = -5;
     static final double MAX_BOUND = 5;
 
+    static final int SERIES_COLUMNS = 2048; // convergence history resolution
+
     static Random rand = new Random();
 
-    // Rosenbrock function
+    // Rosenbrock function (shared kernel from ../0 Common)
     public static double rosenbrock(double[] pos) {
-        double x = pos[0];
-        double y = pos[1];
-        return Math.pow(1 - x, 2) + 100 * Math.pow(y - x * x, 2);
+        return Objectives.ROSENBROCK.value(pos);
     }
 
     // Clamp within bounds
@@ -30,12 +31,26 @@ public class GWO_Converge {
     }
 
     // ---------- Convergence Panel Only ----------
+    // Draws a ConvergenceSeries on a log10 axis into a cached image. Each
+    // repaint adds only the pixel columns whose iterations finished since the
+    // last one and then blits the image, so the cost of a frame does not grow
+    // with the length of the run. The image is rebuilt only when the panel
+    // is resized or the values leave the current range of decades.
     static class ConvergencePanel extends JPanel {
-        final double[] bestHistory;
-        final int iters;
+        static final int M = 45;
+        static final double FLOOR = 1e-30; // values at or below this are drawn at FLOOR
 
-        ConvergencePanel(double[] bestHistory, int iters) {
-            this.bestHistory = bestHistory;
+        final ConvergenceSeries series;
+        final int iters;
+        BufferedImage image;
+        int drawnPx = 0;             // pixel columns already in the image
+        double prevMin = Double.NaN; // min of the last drawn pixel column, joins the envelope
+        int scanned = 0;             // series columns included in lowest/highest
+        double lowest = Double.POSITIVE_INFINITY, highest = Double.NEGATIVE_INFINITY;
+        int loDecade, hiDecade;      // y axis spans 10^loDecade .. 10^hiDecade
+
+        ConvergencePanel(ConvergenceSeries series, int iters) {
+            this.series = series;
             this.iters = iters;
             setPreferredSize(new Dimension(600, 360));
         }
@@ -43,105 +58,113 @@ public class GWO_Converge {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            int W = getWidth(), H = getHeight(), m = 45;
-            // axes
-            g2.setColor(Color.BLACK);
-            g2.drawLine(m, H - m, W - m, H - m);
-            g2.drawLine(m, H - m, m, m);
-            g2.drawString("Iteration", W / 2 - 25, H - 12);
-            g2.rotate(-Math.PI / 2);
-            g2.drawString("Best f(x)", -H / 2 + 5, 15);
-            g2.rotate(Math.PI / 2);
+            int W = getWidth(), H = getHeight();
+            if (W <= 2 * M || H <= 2 * M) return;
+            int done = series.completed();
+            boolean rangeChanged = updateRange(done);
+            if (image == null || image.getWidth() != W || image.getHeight() != H || rangeChanged)
+                rebuild(W, H);
+            drawColumns(done, W - 2 * M, H);
+            g.drawImage(image, 0, 0, null);
+        }
 
-            // min/max
-            double ymin = Double.POSITIVE_INFINITY, ymax = Double.NEGATIVE_INFINITY;
-            for (int i = 0; i < iters; i++) {
-                double v = bestHistory[i];
-                if (Double.isFinite(v)) {
-                    ymin = Math.min(ymin, v);
-                    ymax = Math.max(ymax, v);
-                }
-            }
-            if (!Double.isFinite(ymin) || !Double.isFinite(ymax) || ymin == ymax) {
-                ymin = 0; ymax = 1;
+        // Folds newly completed columns into the value range; true if the
+        // decades shown on the axis have to change
+        boolean updateRange(int done) {
+            for (; scanned < done; scanned++) {
+                double mn = series.min[scanned], mx = series.max[scanned];
+                if (Double.isNaN(mn)) continue;
+                lowest = Math.min(lowest, Math.max(FLOOR, mn));
+                highest = Math.max(highest, Math.max(FLOOR, mx));
             }
+            if (lowest > highest) return false;
+            int lo = (int) Math.floor(Math.log10(lowest)), hi = (int) Math.ceil(Math.log10(highest));
+            if (hi <= lo) hi = lo + 1;
+            if (image != null && lo >= loDecade && hi <= hiDecade) return false;
+            loDecade = image == null ? lo : Math.min(lo, loDecade);
+            hiDecade = image == null ? hi : Math.max(hi, hiDecade);
+            return true;
+        }
 
-            // grid
+        int yOf(double v, int H) {
+            double t = (Math.log10(Math.max(FLOOR, v)) - loDecade) / (double) (hiDecade - loDecade);
+            return H - M - (int) Math.round(t * (H - 2 * M));
+        }
+
+        // Background, axes, grid and ticks; the series is then redrawn from column 0
+        void rebuild(int W, int H) {
+            image = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+            drawnPx = 0;
+            prevMin = Double.NaN;
+            Graphics2D g2 = image.createGraphics();
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, W, H);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            // grid: 10 iteration steps, one line per decade (thinned past 10 decades)
             g2.setColor(new Color(230, 230, 230));
+            int step = Math.max(1, (hiDecade - loDecade) / 10);
             for (int i = 0; i <= 10; i++) {
-                int x = m + i * (W - 2 * m) / 10;
-                int y = H - m - i * (H - 2 * m) / 10;
-                g2.drawLine(x, m, x, H - m);
-                g2.drawLine(m, y, W - m, y);
+                int x = M + i * (W - 2 * M) / 10;
+                g2.drawLine(x, M, x, H - M);
+            }
+            for (int d = loDecade; d <= hiDecade; d += step) {
+                int y = yOf(Math.pow(10, d), H);
+                g2.drawLine(M, y, W - M, y);
             }
 
-            // ticks
+            // axes
             g2.setColor(Color.BLACK);
+            g2.drawLine(M, H - M, W - M, H - M);
+            g2.drawLine(M, H - M, M, M);
+            g2.drawString("Iteration", W / 2 - 25, H - 12);
+            g2.rotate(-Math.PI / 2);
+            g2.drawString("Best f(x), log", -H / 2 - 20, 15);
+            g2.rotate(Math.PI / 2);
+
+            // ticks
             g2.setFont(g2.getFont().deriveFont(12f));
             for (int i = 0; i <= 10; i++) {
-                int x = m + i * (W - 2 * m) / 10;
-                int y = H - m - i * (H - 2 * m) / 10;
-                g2.drawString(String.valueOf(i * iters / 10), x - 10, H - m + 18);
-                double yval = ymin + (ymax - ymin) * (i / 10.0);
-                g2.drawString(String.format("%.2e", yval), 5, y + 4);
+                int x = M + i * (W - 2 * M) / 10;
+                g2.drawString(String.valueOf((long) i * iters / 10), x - 10, H - M + 18);
             }
+            for (int d = loDecade; d <= hiDecade; d += step)
+                g2.drawString("1e" + d, 5, yOf(Math.pow(10, d), H) + 4);
+            g2.drawString("Convergence (best fitness vs iteration)", M, M - 10);
+            g2.dispose();
+        }
 
-            // plot
+        // Draws the pixel columns whose series columns are all complete. Pixel
+        // column x covers series columns [c0, c1) and is drawn as a vertical
+        // line over their min/max, joined to the previous column's min.
+        void drawColumns(int done, int pw, int H) {
+            if (drawnPx >= pw || lowest > highest) return;
+            int cols = series.cols;
+            Graphics2D g2 = image.createGraphics();
             g2.setColor(new Color(66, 135, 245));
             g2.setStroke(new BasicStroke(2f));
-            int px = -1, py = -1;
-            for (int i = 0; i < iters; i++) {
-                double v = bestHistory[i];
-                double tx = i / (double) Math.max(1, iters - 1);
-                double ty = (v - ymin) / (ymax - ymin);
-                int x = m + (int) Math.round(tx * (W - 2 * m));
-                int y = H - m - (int) Math.round(ty * (H - 2 * m));
-                if (px != -1) g2.drawLine(px, py, x, y);
-                px = x; py = y;
+            for (; drawnPx < pw; drawnPx++) {
+                int c0 = (int) ((long) drawnPx * cols / pw);
+                int c1 = Math.max(c0 + 1, (int) ((long) (drawnPx + 1) * cols / pw));
+                if (c1 > done) break;
+                double mn = Double.POSITIVE_INFINITY, mx = Double.NEGATIVE_INFINITY;
+                for (int c = c0; c < c1; c++) {
+                    if (Double.isNaN(series.min[c])) continue;
+                    mn = Math.min(mn, series.min[c]);
+                    mx = Math.max(mx, series.max[c]);
+                }
+                if (mn > mx) continue; // no iteration landed here
+                double top = Double.isNaN(prevMin) ? mx : Math.max(mx, prevMin);
+                int x = M + drawnPx;
+                g2.drawLine(x, yOf(top, H), x, yOf(mn, H));
+                prevMin = mn;
             }
-            g2.drawString("Convergence (best fitness vs iteration)", m, m - 10);
+            g2.dispose();
         }
     }
 
-    // ---------- main ----------
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-
-        // --- Input: population (wolves) and iterations ---
-        System.out.print("Enter population size (press Enter for " + DEFAULT_WOLF_COUNT + "): ");
-        String inp = sc.nextLine().trim();
-        int WOLF_COUNT;
-        try {
-            WOLF_COUNT = inp.isEmpty() ? DEFAULT_WOLF_COUNT : Integer.parseInt(inp);
-        } catch (Exception e) {
-            WOLF_COUNT = DEFAULT_WOLF_COUNT;
-        }
-
-        System.out.print("Enter max iterations (press Enter for " + DEFAULT_MAX_ITER + "): ");
-        inp = sc.nextLine().trim();
-        int MAX_ITER;
-        try {
-            MAX_ITER = inp.isEmpty() ? DEFAULT_MAX_ITER : Integer.parseInt(inp);
-        } catch (Exception e) {
-            MAX_ITER = DEFAULT_MAX_ITER;
-        }
-
-        // --- Display predefined and chosen (defined) parameters ---
-        System.out.println("\n=== Parameters ===");
-        System.out.println("Predefined:");
-        System.out.printf("  DIMENSIONS         = %d%n", DIMENSIONS);
-        System.out.printf("  MIN_BOUND          = %.2f%n", MIN_BOUND);
-        System.out.printf("  MAX_BOUND          = %.2f%n", MAX_BOUND);
-        System.out.printf("  DEFAULT_WOLF_COUNT = %d%n", DEFAULT_WOLF_COUNT);
-        System.out.printf("  DEFAULT_MAX_ITER   = %d%n", DEFAULT_MAX_ITER);
-        System.out.println("Chosen (defined):");
-        System.out.printf("  WOLF_COUNT         = %d%n", WOLF_COUNT);
-        System.out.printf("  MAX_ITER           = %d%n", MAX_ITER);
-        System.out.println("==================\n");
-
+    // Runs the optimizer, adding the best score of every iteration to series
+    static void optimize(int WOLF_COUNT, int MAX_ITER, ConvergenceSeries series) {
         double[][] wolves = new double[WOLF_COUNT][DIMENSIONS];
 
         // Random initialization
@@ -151,42 +174,26 @@ public class GWO_Converge {
             }
         }
 
-        double[] alpha = new double[DIMENSIONS];
-        double[] beta  = new double[DIMENSIONS];
-        double[] delta = new double[DIMENSIONS];
-        double alphaScore = Double.MAX_VALUE;
-        double betaScore  = Double.MAX_VALUE;
-        double deltaScore = Double.MAX_VALUE;
+        // alpha/beta/delta in preallocated buffers (no cloning on leader change)
+        Leaders leaders = new Leaders(DIMENSIONS);
 
-        // For convergence graph
-        double[] bestHistory = new double[MAX_ITER];
         int progressStep = Math.max(1, MAX_ITER / 10);
 
-        // Main loop
+        // Main loop (ends early when the worker is interrupted: window closed)
         for (int iter = 0; iter < MAX_ITER; iter++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.out.printf("Window closed: stopped after %d iterations%n", iter);
+                break;
+            }
             // Evaluate wolves
             for (int i = 0; i < WOLF_COUNT; i++) {
                 double score = rosenbrock(wolves[i]);
-
-                if (score < alphaScore) {
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = alphaScore;
-                    beta = alpha.clone();
-                    alphaScore = score;
-                    alpha = wolves[i].clone();
-                } else if (score < betaScore) {
-                    deltaScore = betaScore;
-                    delta = beta.clone();
-                    betaScore = score;
-                    beta = wolves[i].clone();
-                } else if (score < deltaScore) {
-                    deltaScore = score;
-                    delta = wolves[i].clone();
-                }
+                leaders.offer(score, wolves[i]);
             }
 
-            double a = 2.0 - (2.0 * iter / (double) MAX_ITER);
+            double a = GWOEngine.Schedule.LINEAR.a(iter, MAX_ITER);
+
+            double[] alpha = leaders.alpha, beta = leaders.beta, delta = leaders.delta;
 
             // Update positions
             for (int i = 0; i < WOLF_COUNT; i++) {
@@ -214,27 +221,80 @@ public class GWO_Converge {
                 }
             }
 
-            bestHistory[iter] = alphaScore;
+            series.add(iter, leaders.alphaScore);
 
             if (iter % progressStep == 0) {
                 System.out.printf("Iter %4d / %d : Best = %.8f at (%.6f, %.6f)%n",
-                        iter, MAX_ITER, alphaScore, alpha[0], alpha[1]);
+                        iter, MAX_ITER, leaders.alphaScore, leaders.alpha[0], leaders.alpha[1]);
             }
         }
 
         System.out.printf("%nFinal Best: f(%.6f, %.6f) = %.10f%n",
-                alpha[0], alpha[1], alphaScore);
+                leaders.alpha[0], leaders.alpha[1], leaders.alphaScore);
+    }
+
+    // ---------- main ----------
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+
+        // --- Input: population (wolves) and iterations ---
+        System.out.print("Enter population size (press Enter for " + DEFAULT_WOLF_COUNT + "): ");
+        String inp = sc.nextLine().trim();
+        int WOLF_COUNT;
+        try {
+            WOLF_COUNT = inp.isEmpty() ? DEFAULT_WOLF_COUNT : Integer.parseInt(inp);
+        } catch (Exception e) {
+            WOLF_COUNT = DEFAULT_WOLF_COUNT;
+        }
+
+        System.out.print("Enter max iterations (press Enter for " + DEFAULT_MAX_ITER + "): ");
+        inp = sc.nextLine().trim();
+        int MAX_ITER;
+        try {
+            MAX_ITER = inp.isEmpty() ? DEFAULT_MAX_ITER : Integer.parseInt(inp);
+        } catch (Exception e) {
+            MAX_ITER = DEFAULT_MAX_ITER;
+        }
+
+        // --- Display predefined and chosen (defined) parameters ---
+        System.out.println("\n=== Parameters ===");
+        System.out.println("Predefined:");
+        System.out.printf("  DIMENSIONS         = %d%n", DIMENSIONS);
+        System.out.printf("  MIN_BOUND          = %.2f%n", MIN_BOUND);
+        System.out.printf("  MAX_BOUND          = %.2f%n", MAX_BOUND);
+        System.out.printf("  DEFAULT_WOLF_COUNT = %d%n", DEFAULT_WOLF_COUNT);
+        System.out.printf("  DEFAULT_MAX_ITER   = %d%n", DEFAULT_MAX_ITER);
+        System.out.println("Chosen (defined):");
+        System.out.printf("  WOLF_COUNT         = %d%n", WOLF_COUNT);
+        System.out.printf("  MAX_ITER           = %d%n", MAX_ITER);
+        System.out.println("==================\n");
 
         sc.close();
 
-        // ---------- Show only Convergence graph ----------
+        // fixed-size decimated history; the panel draws it while the pack runs
+        ConvergenceSeries series = new ConvergenceSeries(SERIES_COLUMNS, MAX_ITER);
+        final int iters = MAX_ITER;
+
+        final int wolfCount = WOLF_COUNT;
+        Thread worker = new Thread(() -> optimize(wolfCount, iters, series), "gwo-optimizer");
         SwingUtilities.invokeLater(() -> {
+            ConvergencePanel panel = new ConvergencePanel(series, iters);
             JFrame f = new JFrame("GWO – Convergence Graph");
             f.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-            f.getContentPane().add(new ConvergencePanel(bestHistory, bestHistory.length));
+            f.getContentPane().add(panel);
             f.pack();
             f.setLocationRelativeTo(null);
             f.setVisible(true);
+            Timer repaint = new Timer(40, e -> panel.repaint());
+            f.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    repaint.stop();
+                    worker.interrupt();
+                }
+            });
+            repaint.start();
         });
+        worker.start();
     }
 }
@@ -0,0 +1,116 @@
+// GWOEngine followed by a local-search polish of the alpha wolf.
+// The pack finds the basin quickly but then crawls (on Rosenbrock it spends
+// most of its iterations inching along the valley). After every step the
+// alpha score is checked for stagnation: less than `tol` relative
+// improvement over `patience` iterations. Alpha is then copied out and
+// handed to the LocalSearch, starting with a step the size of the leader
+// spread (largest |alpha_d - delta_d|), for at most `polishEvals`
+// evaluations. The polished point replaces the worst wolf of the last
+// evaluation and is offered to the leaders, so the pack carries on from it
+// if the target is not reached yet.
+//
+// Local evaluations are added to the engine's evals, so every budget and
+// report counts the objective calls of both stages.
+//
+//   HybridGWO h = new HybridGWO(new GWOEngine(f, 30, dim, lo, hi, 1000, seed))
+//           .polish(new NelderMead(), 20, 2000).target(1e-10);
+//   h.run(100000);
+public class HybridGWO {
+    final GWOEngine engine;
+    LocalSearch local = new NelderMead();
+    int patience = 20;
+    double tol = 1e-3;
+    long polishEvals = 2000;
+    double target = -Double.MAX_VALUE;
+
+    double mark = Double.MAX_VALUE; // alpha score at the last real improvement
+    int stalled = 0;                // iterations since then
+    int polishes = 0;
+    long localEvals = 0;
+    final double[] point;
+
+    HybridGWO(GWOEngine engine) {
+        this.engine = engine;
+        this.point = new double[engine.dim];
+    }
+
+    // Local search, iterations without `tol` progress before it runs, and
+    // the evaluations it may spend each time
+    HybridGWO polish(LocalSearch ls, int patience, long polishEvals) {
+        this.local = ls.target(target);
+        this.patience = Math.max(1, patience);
+        this.polishEvals = polishEvals;
+        return this;
+    }
+
+    // Plain GWO: the pack is never polished
+    HybridGWO noPolish() {
+        this.local = null;
+        return this;
+    }
+
+    // Relative improvement of alpha that still counts as progress
+    HybridGWO tolerance(double tol) {
+        this.tol = tol;
+        return this;
+    }
+
+    // Stop as soon as the best value is at most target
+    HybridGWO target(double target) {
+        this.target = target;
+        if (local != null) local.target(target);
+        return this;
+    }
+
+    // One swarm step, then a polish if the pack has stagnated
+    void step(long budget) {
+        GWOEngine e = engine;
+        e.step();
+        double best = e.bestValue();
+        if (best < mark - tol * Math.abs(mark) || mark == Double.MAX_VALUE) {
+            mark = best;
+            stalled = 0;
+        } else if (++stalled >= patience && best > target && local != null) {
+            polish(Math.min(polishEvals, budget - e.evals));
+            mark = e.bestValue();
+            stalled = 0;
+        }
+    }
+
+    // Steps until the target, the engine's iteration limit or `budget`
+    // evaluations, whichever comes first
+    void run(long budget) {
+        while (engine.iter < engine.maxIter && engine.evals < budget && engine.bestValue() > target)
+            step(budget);
+    }
+
+    void polish(long evals) {
+        if (evals <= 0) return;
+        GWOEngine e = engine;
+        Leaders l = e.leaders;
+        double spread = 0;
+        for (int d = 0; d < e.dim; d++) spread = Math.max(spread, Math.abs(l.alpha[d] - l.delta[d]));
+        if (!(spread > 0)) spread = 1e-3 * (e.hi - e.lo);
+        System.arraycopy(l.alpha, 0, point, 0, e.dim);
+        double v = local.step(spread).minimize(e.f, point, l.alphaScore, e.lo, e.hi, evals);
+        e.evals += local.evaluations();
+        localEvals += local.evaluations();
+        polishes++;
+        if (v >= l.alphaScore) return;
+
+        int w = 0;
+        for (int i = 1; i < e.n; i++)
+            if (e.scores[i] > e.scores[w]) w = i;
+        for (int d = 0; d < e.dim; d++) e.pos[d * e.n + w] = point[d];
+        e.scores[w] = v;
+        l.offer(v, point, 0);
+    }
+
+    double bestValue() {
+        return engine.bestValue();
+    }
+
+    double[] bestPosition(double[] out) {
+        return engine.bestPosition(out);
+    }
+}
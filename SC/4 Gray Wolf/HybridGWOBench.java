@@ -0,0 +1,55 @@
+// Objective evaluations to reach a target with the plain GWOEngine and with
+// HybridGWO polishing alpha by Nelder-Mead or L-BFGS (same seeds). A run
+// stops at the target or after `budget` evaluations.
+// Usage: java HybridGWOBench [function] [target] [budget] [reps] [wolves] [dims...]
+//   e.g. java HybridGWOBench rosenbrock 1e-10 2000000 10 30 2 10 30
+public class HybridGWOBench {
+    public static void main(String[] args) {
+        Objective f = args.length > 0 ? Objectives.byName(args[0]) : Objectives.ROSENBROCK;
+        double target = args.length > 1 ? Double.parseDouble(args[1]) : 1e-10;
+        long budget = args.length > 2 ? Long.parseLong(args[2]) : 2_000_000;
+        int reps = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int wolves = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        int[] dims = { 2, 10, 30 };
+        if (args.length > 5) {
+            dims = new int[args.length - 5];
+            for (int i = 5; i < args.length; i++) dims[i - 5] = Integer.parseInt(args[i]);
+        }
+        String[] variants = { "gwo", "gwo+nm", "gwo+lbfgs" };
+
+        System.out.println("=== Hybrid GWO: evaluations to target ===");
+        System.out.printf("f = %s, target = %.0e, budget = %d, reps = %d, wolves = %d%n%n", f.name(), target, budget,
+                reps, wolves);
+        System.out.printf("%4s | %-10s | %7s | %12s | %12s | %8s | %8s%n", "dim", "variant", "hits", "median evals",
+                "median best", "polishes", "local %");
+
+        for (int dim : dims) {
+            for (String variant : variants) {
+                int hits = 0;
+                long[] used = new long[reps];
+                double[] best = new double[reps];
+                double polishes = 0, localShare = 0;
+                for (int r = 0; r < reps; r++) {
+                    GWOEngine e = new GWOEngine(f, wolves, dim, f.lowerBound(), f.upperBound(),
+                            (int) (budget / wolves), 900 + r);
+                    HybridGWO h = new HybridGWO(e);
+                    if (variant.equals("gwo+nm")) h.polish(new NelderMead(), 20, 500L * dim);
+                    else if (variant.equals("gwo+lbfgs")) h.polish(new LBFGS(), 20, 500L * dim);
+                    else h.noPolish();
+                    h.target(target).run(budget);
+                    best[r] = h.bestValue();
+                    used[r] = best[r] <= target ? e.evals : Long.MAX_VALUE;
+                    if (best[r] <= target) hits++;
+                    polishes += h.polishes;
+                    localShare += (double) h.localEvals / e.evals;
+                }
+                java.util.Arrays.sort(used);
+                java.util.Arrays.sort(best);
+                long median = used[reps / 2];
+                System.out.printf("%4d | %-10s | %3d/%-3d | %12s | %12.4e | %8.1f | %7.1f%%%n", dim, variant, hits,
+                        reps, median == Long.MAX_VALUE ? "-" : Long.toString(median), best[reps / 2],
+                        polishes / reps, 100 * localShare / reps);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Island-model GWO: several independent GWOEngine packs, each stepped on its
+// own thread, that exchange their best wolves every `interval` iterations.
+//   epoch:     every island runs `interval` steps in parallel (sequential
+//              inside the island, so packs smaller than a block cost nothing
+//              extra)
+//   migration: on the calling thread, in island order, every island's top
+//              `migrants` leaders are copied out first and then delivered to
+//              its neighbours, where they replace the worst wolves of the
+//              last evaluation and are offered to the receiver's leaders
+// Islands are seeded from one master seed and migration happens between
+// epochs, so a seed gives the same run for any number of threads.
+public class IslandGWO {
+    enum Migration {
+        RING,  // island i sends to island i+1
+        FULL   // every island sends to every other island
+    }
+
+    final GWOEngine[] islands;
+    final int maxIter, dim;
+    Migration topology = Migration.RING;
+    int interval = 25, migrants = 1;
+    ForkJoinPool pool;          // null -> islands run one after another on the calling thread
+
+    final double[] outPos;      // [islands * 3 * dim] leaders copied out before delivery
+    final double[] outScore;    // [islands * 3]
+    final int[] worst = new int[3];
+
+    IslandGWO(Objective f, int islands, int wolvesPerIsland, int dim, int maxIter, long seed) {
+        if (islands < 1) throw new IllegalArgumentException("need at least one island");
+        this.islands = new GWOEngine[islands];
+        this.maxIter = maxIter;
+        this.dim = dim;
+        SplitMix64 master = new SplitMix64(seed);
+        for (int i = 0; i < islands; i++)
+            this.islands[i] = new GWOEngine(f, wolvesPerIsland, dim, f.lowerBound(), f.upperBound(), maxIter,
+                    master.nextLong());
+        outPos = new double[islands * 3 * dim];
+        outScore = new double[islands * 3];
+    }
+
+    // Migration topology, iterations between migrations and wolves sent per
+    // neighbour (1..3: alpha, then beta, then delta)
+    IslandGWO migration(Migration topology, int interval, int migrants) {
+        if (migrants < 0 || migrants > 3) throw new IllegalArgumentException("migrants must be 0..3");
+        this.topology = topology;
+        this.interval = Math.max(1, interval);
+        this.migrants = migrants;
+        return this;
+    }
+
+    IslandGWO parallel(int threads) {
+        shutdown();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        return this;
+    }
+
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+
+    void run() {
+        int iter = 0;
+        while (iter < maxIter) {
+            int steps = Math.min(interval, maxIter - iter);
+            if (pool == null) {
+                for (GWOEngine e : islands)
+                    for (int s = 0; s < steps; s++) e.step();
+            } else {
+                pool.invoke(new IslandTask(0, islands.length, steps));
+            }
+            iter += steps;
+            if (iter < maxIter && islands.length > 1 && migrants > 0) migrate();
+        }
+    }
+
+    void migrate() {
+        int k = islands.length;
+        for (int i = 0; i < k; i++) {
+            Leaders l = islands[i].leaders;
+            double[][] src = { l.alpha, l.beta, l.delta };
+            double[] sc = { l.alphaScore, l.betaScore, l.deltaScore };
+            for (int m = 0; m < migrants; m++) {
+                System.arraycopy(src[m], 0, outPos, (i * 3 + m) * dim, dim);
+                outScore[i * 3 + m] = sc[m];
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            if (topology == Migration.RING) {
+                deliver((i + k - 1) % k, i);
+            } else {
+                for (int j = 0; j < k; j++)
+                    if (j != i) deliver(j, i);
+            }
+        }
+    }
+
+    // Copies island from's emigrants into island to
+    void deliver(int from, int to) {
+        GWOEngine e = islands[to];
+        worstWolves(e, migrants);
+        for (int m = 0; m < migrants; m++) {
+            double score = outScore[from * 3 + m];
+            if (score == Double.MAX_VALUE) continue; // sender has fewer leaders than that
+            int off = (from * 3 + m) * dim, w = worst[m];
+            for (int d = 0; d < dim; d++) e.pos[d * e.n + w] = outPos[off + d];
+            e.scores[w] = score;
+            e.leaders.offer(score, outPos, off);
+        }
+    }
+
+    // Indices of the k worst wolves by the island's last evaluation, into worst[]
+    void worstWolves(GWOEngine e, int k) {
+        double s0 = -Double.MAX_VALUE, s1 = -Double.MAX_VALUE, s2 = -Double.MAX_VALUE;
+        int w0 = 0, w1 = 1, w2 = 2;
+        for (int i = 0; i < e.n; i++) {
+            double s = e.scores[i];
+            if (s > s0) {
+                s2 = s1; w2 = w1;
+                s1 = s0; w1 = w0;
+                s0 = s;  w0 = i;
+            } else if (s > s1) {
+                s2 = s1; w2 = w1;
+                s1 = s;  w1 = i;
+            } else if (s > s2) {
+                s2 = s;  w2 = i;
+            }
+        }
+        worst[0] = w0;
+        worst[1] = w1;
+        worst[2] = w2;
+    }
+
+    double bestValue() {
+        double best = Double.MAX_VALUE;
+        for (GWOEngine e : islands) best = Math.min(best, e.bestValue());
+        return best;
+    }
+
+    double[] bestPosition(double[] out) {
+        GWOEngine best = islands[0];
+        for (GWOEngine e : islands)
+            if (e.bestValue() < best.bestValue()) best = e;
+        return best.bestPosition(out);
+    }
+
+    long evaluations() {
+        long n = 0;
+        for (GWOEngine e : islands) n += e.evals;
+        return n;
+    }
+
+    // Splits a range of islands across the pool; each runs `steps` iterations
+    class IslandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int from, to, steps;
+
+        IslandTask(int from, int to, int steps) {
+            this.from = from;
+            this.to = to;
+            this.steps = steps;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                for (int s = 0; s < steps; s++) islands[from].step();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IslandTask(from, mid, steps), new IslandTask(mid, to, steps));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// Island-model GWO against one big pack of the same total size, on
+// multimodal functions. Every configuration gets the same number of
+// objective evaluations (total wolves x iterations); the table shows the
+// median best value over the seeds and the mean wall time, i.e. quality
+// per second. Islands run on up to `threads` cores; the single pack is
+// smaller than one GWOEngine block, so it runs on one.
+// Usage: java IslandGWOBench [totalWolves] [dim] [iterations] [reps] [threads] [interval]
+public class IslandGWOBench {
+    static final Objectives[] FUNCTIONS = {
+        Objectives.RASTRIGIN, Objectives.ACKLEY, Objectives.SCHWEFEL, Objectives.LEVY
+    };
+
+    public static void main(String[] args) {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 240;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int iters = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+        int reps = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int interval = args.length > 5 ? Integer.parseInt(args[5]) : 25;
+
+        // { islands, topology (0 = ring, 1 = full) }; 1 island = one big pack
+        int[][] configs = { { 1, 0 }, { 4, 0 }, { 8, 0 }, { 8, 1 } };
+
+        System.out.println("=== Island GWO vs one pack ===");
+        System.out.printf("total wolves = %d, dim = %d, iterations = %d, reps = %d, threads = %d, interval = %d%n%n",
+                total, dim, iters, reps, threads, interval);
+        System.out.printf("%-10s | %-14s | %12s | %10s%n", "f", "layout", "median best", "mean ms");
+
+        for (Objective f : FUNCTIONS) {
+            for (int[] c : configs) {
+                int k = c[0];
+                IslandGWO.Migration topo = c[1] == 0 ? IslandGWO.Migration.RING : IslandGWO.Migration.FULL;
+                double[] best = new double[reps];
+                double ms = 0;
+                for (int r = 0; r < reps; r++) {
+                    IslandGWO g = new IslandGWO(f, k, total / k, dim, iters, 100 + r)
+                            .migration(topo, interval, 1).parallel(Math.min(threads, k));
+                    long t0 = System.nanoTime();
+                    g.run();
+                    ms += (System.nanoTime() - t0) / 1e6;
+                    g.shutdown();
+                    best[r] = g.bestValue();
+                }
+                java.util.Arrays.sort(best);
+                String layout = k == 1 ? "1 x " + total : k + " x " + total / k + " " + topo.name().toLowerCase();
+                System.out.printf("%-10s | %-14s | %12.4e | %10.1f%n", f.name(), layout, best[reps / 2], ms / reps);
+            }
+        }
+    }
+}
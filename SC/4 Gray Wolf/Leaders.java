@@ -0,0 +1,66 @@
+// Alpha, beta and delta wolves kept in three preallocated buffers.
+// A new leader is copied in with System.arraycopy and demoted leaders
+// are rotated by swapping buffer references, so tracking the top three
+// never allocates, however often the leaders change.
+public class Leaders {
+    double[] alpha, beta, delta;
+    double alphaScore = Double.MAX_VALUE;
+    double betaScore  = Double.MAX_VALUE;
+    double deltaScore = Double.MAX_VALUE;
+    final int dim;
+
+    Leaders(int dim) {
+        this.dim = dim;
+        alpha = new double[dim];
+        beta  = new double[dim];
+        delta = new double[dim];
+    }
+
+    // Offers the wolf at src[off .. off+dim) with the given score
+    void offer(double score, double[] src, int off) {
+        double[] slot = admit(score);
+        if (slot != null) System.arraycopy(src, off, slot, 0, dim);
+    }
+
+    // Offers wolf i of a dimension-major array, coordinate d at cols[d*stride + i]
+    void offerColumn(double score, double[] cols, int i, int stride) {
+        double[] slot = admit(score);
+        if (slot != null)
+            for (int d = 0; d < dim; d++) slot[d] = cols[d * stride + i];
+    }
+
+    // Rotates the leaders for a new score and returns the buffer the wolf
+    // must be copied into, or null if it does not make the top three
+    private double[] admit(double score) {
+        if (score < alphaScore) {
+            // shift down: delta <- beta <- alpha, old delta buffer is reused
+            double[] spare = delta;
+            delta = beta;
+            deltaScore = betaScore;
+            beta = alpha;
+            betaScore = alphaScore;
+            alpha = spare;
+            alphaScore = score;
+            return alpha;
+        } else if (score < betaScore) {
+            double[] spare = delta;
+            delta = beta;
+            deltaScore = betaScore;
+            beta = spare;
+            betaScore = score;
+            return beta;
+        } else if (score < deltaScore) {
+            deltaScore = score;
+            return delta;
+        }
+        return null;
+    }
+
+    void offer(double score, double[] wolf) {
+        offer(score, wolf, 0);
+    }
+
+    void reset() {
+        alphaScore = betaScore = deltaScore = Double.MAX_VALUE;
+    }
+}
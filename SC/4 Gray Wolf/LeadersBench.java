@@ -0,0 +1,112 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Bytes allocated and time per GWO iteration with the original clone-based
+// leader tracking vs the preallocated Leaders buffers. Everything else in
+// the iteration (evaluation and the position update) is identical.
+// Usage: java LeadersBench [iterations]
+public class LeadersBench {
+    static final int[] PACK_SIZES = { 30, 1_000, 10_000, 100_000 };
+    static final int[] DIMS = { 2, 30, 200 };
+    static final double MIN_BOUND = -5, MAX_BOUND = 5;
+
+    static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // ---------- original tracking (as in GWORosenbrock before Leaders) ----------
+    static class Cloning {
+        double[] alpha, beta, delta;
+        double alphaScore = Double.MAX_VALUE, betaScore = Double.MAX_VALUE, deltaScore = Double.MAX_VALUE;
+
+        Cloning(int dim) {
+            alpha = new double[dim];
+            beta = new double[dim];
+            delta = new double[dim];
+        }
+
+        void offer(double score, double[] wolf) {
+            if (score < alphaScore) {
+                deltaScore = betaScore;
+                delta = beta.clone();
+                betaScore = alphaScore;
+                beta = alpha.clone();
+                alphaScore = score;
+                alpha = wolf.clone();
+            } else if (score < betaScore) {
+                deltaScore = betaScore;
+                delta = beta.clone();
+                betaScore = score;
+                beta = wolf.clone();
+            } else if (score < deltaScore) {
+                deltaScore = score;
+                delta = wolf.clone();
+            }
+        }
+    }
+
+    static double[][] pack(int n, int dim, Random rand) {
+        double[][] wolves = new double[n][dim];
+        for (double[] w : wolves)
+            for (int d = 0; d < dim; d++) w[d] = MIN_BOUND + (MAX_BOUND - MIN_BOUND) * rand.nextDouble();
+        return wolves;
+    }
+
+    static void update(double[][] wolves, double[] alpha, double[] beta, double[] delta, double a, Random rand) {
+        for (double[] w : wolves) {
+            for (int d = 0; d < w.length; d++) {
+                double X1 = alpha[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * alpha[d] - w[d]);
+                double X2 = beta[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * beta[d] - w[d]);
+                double X3 = delta[d] - (2 * a * rand.nextDouble() - a) * Math.abs(2 * rand.nextDouble() * delta[d] - w[d]);
+                w[d] = Math.max(MIN_BOUND, Math.min(MAX_BOUND, (X1 + X2 + X3) / 3.0));
+            }
+        }
+    }
+
+    // Returns { ms per iteration, bytes per iteration }
+    static double[] run(boolean inPlace, int n, int dim, int iters) {
+        Random rand = new Random(7);
+        double[][] wolves = pack(n, dim, rand);
+        Cloning cl = new Cloning(dim);
+        Leaders ld = new Leaders(dim);
+        long a0 = 0, t0 = 0;
+        int warm = Math.max(5, iters / 4);
+        for (int it = 0; it < warm + iters; it++) {
+            if (it == warm) {
+                a0 = allocated();
+                t0 = System.nanoTime();
+            }
+            // fresh leaders each iteration so they keep changing (worst case for cloning)
+            cl.alphaScore = cl.betaScore = cl.deltaScore = Double.MAX_VALUE;
+            ld.reset();
+            for (double[] w : wolves) {
+                double s = Objectives.ROSENBROCK.value(w);
+                if (inPlace) ld.offer(s, w);
+                else cl.offer(s, w);
+            }
+            double a = 2.0 - 2.0 * it / (warm + iters);
+            if (inPlace) update(wolves, ld.alpha, ld.beta, ld.delta, a, rand);
+            else update(wolves, cl.alpha, cl.beta, cl.delta, a, rand);
+        }
+        long t = System.nanoTime() - t0, bytes = allocated() - a0;
+        return new double[] { t / 1e6 / iters, bytes / (double) iters };
+    }
+
+    public static void main(String[] args) {
+        int iters = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        System.out.println("=== GWO leader tracking: clone vs preallocated ===");
+        System.out.printf("timed iterations = %d (leaders reset each iteration)%n%n", iters);
+        System.out.printf("%5s %8s | %12s %14s | %12s %14s%n", "dim", "wolves", "clone ms/it", "clone B/it", "Leaders ms/it", "Leaders B/it");
+        for (int dim : DIMS) {
+            for (int n : PACK_SIZES) {
+                if ((long) n * dim > 5_000_000) continue;
+                double[] old = run(false, n, dim, iters);
+                double[] now = run(true, n, dim, iters);
+                System.out.printf("%5d %8d | %12.3f %14.0f | %12.3f %14.0f%n", dim, n, old[0], old[1], now[0], now[1]);
+            }
+        }
+    }
+}
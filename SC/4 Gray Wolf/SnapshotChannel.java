@@ -0,0 +1,30 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+// Single-slot, lock-free hand-off of immutable snapshots from one producer
+// (the optimizer) to one consumer (the Swing panel).
+// publish() overwrites the slot and latest() reads it; neither side ever
+// blocks, and only the newest snapshot is kept, so a slow painter just
+// skips states instead of holding the optimizer back.
+// wanted() tells the producer whether the consumer has picked up the last
+// snapshot, so it can skip building new ones nobody will see. The flag is
+// a hint: a lost race only costs one extra or one skipped snapshot.
+public class SnapshotChannel<T> {
+    private final AtomicReference<T> slot = new AtomicReference<>();
+    private volatile boolean seen = true;
+
+    void publish(T snapshot) {
+        seen = false;
+        slot.set(snapshot);
+    }
+
+    boolean wanted() {
+        return seen;
+    }
+
+    // Newest snapshot, or null if nothing has been published yet
+    T latest() {
+        T s = slot.get();
+        seen = true;
+        return s;
+    }
+}
@@ -0,0 +1,201 @@
+// Bounded archive of truly evaluated points with a grid index and LRU
+// eviction, used by SurrogateScreen to predict fitness by k nearest
+// neighbours.
+//
+// Index: a uniform grid over the first min(dim, 3) coordinates; each cell
+// keeps a chain of the points that fall in it, and the head of each chain
+// sits in an open-addressing table (packed cell key -> slot, linear probing,
+// at most half full, so lookups allocate nothing). A query scans rings of
+// cells outward from its own cell. The projected distance never exceeds the
+// full distance, so once the k-th best full distance is within the radius
+// already scanned the answer is exact. The search also stops once the
+// scanned radius passes the caller's limit or maxRing rings: everything
+// within the limit has been seen, and the rest is the best found so far.
+//
+// Memory: capacity points, fixed when built. Inserting into a full archive
+// evicts the least recently used point (inserted or hit as an exact match
+// longest ago).
+//
+// Not thread-safe for writes: queries may run concurrently, inserts and
+// touches must not overlap with anything else.
+public class SurrogateArchive {
+    static final int NONE = -1;
+    static final long EMPTY = -1L; // pack() never produces it
+    static final int GRID_DIMS = 3;
+
+    final int dim, capacity, gridDims, maxRing;
+    final double lo, cell;
+    final double[] pts;       // [capacity*dim]
+    final double[] vals;      // [capacity]
+    final long[] key;         // [capacity] grid cell of each slot
+    final int[] chain;        // [capacity] next slot in the same cell
+    final int[] older, newer; // [capacity] LRU list, newest at head
+    final long[] cellKey;     // [2^m >= 2*capacity] grid cell, or EMPTY
+    final int[] cellFirst;    // first slot in that cell (head of its chain)
+    final int cellMask;
+    int head = NONE, tail = NONE, size = 0;
+
+    SurrogateArchive(int dim, int capacity, double lo, double hi, int cellsPerDim) {
+        this.dim = dim;
+        this.capacity = capacity;
+        this.gridDims = Math.min(dim, GRID_DIMS);
+        this.lo = lo;
+        this.cell = (hi - lo) / cellsPerDim;
+        this.maxRing = cellsPerDim;
+        pts = new double[capacity * dim];
+        vals = new double[capacity];
+        key = new long[capacity];
+        chain = new int[capacity];
+        older = new int[capacity];
+        newer = new int[capacity];
+        int table = Integer.highestOneBit(Math.max(2 * capacity - 1, 1)) << 1;
+        cellKey = new long[table];
+        cellFirst = new int[table];
+        cellMask = table - 1;
+        java.util.Arrays.fill(cellKey, EMPTY);
+    }
+
+    int cellOf(double x) {
+        return (int) Math.floor((x - lo) / cell);
+    }
+
+    // 21 bits per grid coordinate
+    static long pack(int c0, int c1, int c2) {
+        return ((c0 & 0x1FFFFFL) << 42) | ((c1 & 0x1FFFFFL) << 21) | (c2 & 0x1FFFFFL);
+    }
+
+    long keyOf(double[] x, int off) {
+        int c0 = cellOf(x[off]);
+        int c1 = gridDims > 1 ? cellOf(x[off + 1]) : 0;
+        int c2 = gridDims > 2 ? cellOf(x[off + 2]) : 0;
+        return pack(c0, c1, c2);
+    }
+
+    // Adds a point (x[off .. off+dim), value v), evicting the LRU point if full
+    void insert(double[] x, int off, double v) {
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = tail;
+            unlinkLru(slot);
+            unlinkCell(slot);
+        }
+        System.arraycopy(x, off, pts, slot * dim, dim);
+        vals[slot] = v;
+        long k = key[slot] = keyOf(x, off);
+        int h = probe(k);
+        chain[slot] = cellKey[h] == EMPTY ? NONE : cellFirst[h];
+        cellKey[h] = k;
+        cellFirst[h] = slot;
+        pushLru(slot);
+    }
+
+    // Marks a slot as just used
+    void touch(int slot) {
+        if (slot == head) return;
+        unlinkLru(slot);
+        pushLru(slot);
+    }
+
+    // k nearest archived points to x[off..] into idx/dist2 (ascending);
+    // returns how many were found (fewer than k if the archive is small).
+    // Exact up to distance `radius`; beyond it the search may stop early.
+    int nearest(double[] x, int off, int k, double radius, int[] idx, double[] dist2) {
+        int found = 0;
+        int c0 = cellOf(x[off]);
+        int c1 = gridDims > 1 ? cellOf(x[off + 1]) : 0;
+        int c2 = gridDims > 2 ? cellOf(x[off + 2]) : 0;
+        int r1 = gridDims > 1 ? 1 : 0, r2 = gridDims > 2 ? 1 : 0;
+        for (int r = 0; r <= maxRing; r++) {
+            for (int a = -r; a <= r; a++)
+                for (int b = -r * r1; b <= r * r1; b++)
+                    for (int c = -r * r2; c <= r * r2; c++) {
+                        // only the shell of the cube: inner cells were scanned by smaller rings
+                        if (Math.max(Math.abs(a), Math.max(Math.abs(b), Math.abs(c))) != r) continue;
+                        int h = probe(pack(c0 + a, c1 + b, c2 + c));
+                        for (int slot = cellKey[h] == EMPTY ? NONE : cellFirst[h]; slot != NONE; slot = chain[slot])
+                            found = offer(slot, distance2(x, off, slot), k, found, idx, dist2);
+                    }
+            if (found == size) break;
+            double reach = r * cell;
+            if (found == k && dist2[k - 1] <= reach * reach) break;
+            if (reach > radius) break;
+        }
+        return found;
+    }
+
+    double distance2(double[] x, int off, int slot) {
+        double s = 0;
+        for (int d = 0, p = slot * dim; d < dim; d++, p++) {
+            double t = x[off + d] - pts[p];
+            s += t * t;
+        }
+        return s;
+    }
+
+    // Insertion into the sorted top-k lists
+    static int offer(int slot, double d2, int k, int found, int[] idx, double[] dist2) {
+        if (found == k && d2 >= dist2[k - 1]) return found;
+        int j = found < k ? found++ : k - 1;
+        while (j > 0 && dist2[j - 1] > d2) {
+            dist2[j] = dist2[j - 1];
+            idx[j] = idx[j - 1];
+            j--;
+        }
+        dist2[j] = d2;
+        idx[j] = slot;
+        return found;
+    }
+
+    private void pushLru(int slot) {
+        older[slot] = head;
+        newer[slot] = NONE;
+        if (head != NONE) newer[head] = slot;
+        head = slot;
+        if (tail == NONE) tail = slot;
+    }
+
+    private void unlinkLru(int slot) {
+        int o = older[slot], nw = newer[slot];
+        if (nw != NONE) older[nw] = o; else head = o;
+        if (o != NONE) newer[o] = nw; else tail = nw;
+    }
+
+    private void unlinkCell(int slot) {
+        int h = probe(key[slot]), first = cellFirst[h];
+        if (first == slot) {
+            if (chain[slot] == NONE) removeCell(h);
+            else cellFirst[h] = chain[slot];
+            return;
+        }
+        int prev = first;
+        while (chain[prev] != slot) prev = chain[prev];
+        chain[prev] = chain[slot];
+    }
+
+    // Table index of cell k, or of the empty entry where it would go
+    int probe(long k) {
+        int h = home(k);
+        while (cellKey[h] != k && cellKey[h] != EMPTY) h = (h + 1) & cellMask;
+        return h;
+    }
+
+    int home(long k) {
+        return (int) ((k * 0x9E3779B97F4A7C15L) >>> 40) & cellMask;
+    }
+
+    // Empties entry h, shifting later entries of the probe run back so that
+    // every key stays reachable from its home without tombstones
+    private void removeCell(int h) {
+        for (int j = (h + 1) & cellMask; cellKey[j] != EMPTY; j = (j + 1) & cellMask) {
+            int want = home(cellKey[j]);
+            if (((j - want) & cellMask) >= ((j - h) & cellMask)) {
+                cellKey[h] = cellKey[j];
+                cellFirst[h] = cellFirst[j];
+                h = j;
+            }
+        }
+        cellKey[h] = EMPTY;
+    }
+}
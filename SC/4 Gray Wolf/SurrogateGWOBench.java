@@ -0,0 +1,61 @@
+// Plain GWOEngine against GWOEngine with a SurrogateScreen under the same
+// budget of true objective evaluations (and the same seeds and a schedule).
+// A run stops at the budget or after the iterations, whichever comes first.
+// Reports the evaluations needed to reach the target, the best value at
+// the end, and what the screen did with the wolves it did not send to the
+// objective.
+// Usage: java SurrogateGWOBench [wolves] [dim] [iterations] [budget] [reps] [capacity]
+public class SurrogateGWOBench {
+    static final Objectives[] FUNCTIONS = { Objectives.SPHERE, Objectives.ROSENBROCK, Objectives.RASTRIGIN };
+    static final double[] TARGETS = { 1e-8, 10, 1e-6 };
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxIter = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        long budget = args.length > 3 ? Long.parseLong(args[3]) : 4000;
+        int reps = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        int capacity = args.length > 5 ? Integer.parseInt(args[5]) : 4096;
+
+        System.out.println("=== Surrogate-assisted GWO: true evaluations ===");
+        System.out.printf("wolves = %d, dim = %d, iterations = %d, budget = %d, reps = %d, archive = %d%n%n",
+                n, dim, maxIter, budget, reps, capacity);
+        System.out.printf("%-10s %7s | %-9s | %7s | %14s | %12s | %10s | %12s | %8s%n", "f", "target", "variant",
+                "hits", "evals to hit", "median best", "evals", "screened", "reused");
+
+        for (int k = 0; k < FUNCTIONS.length; k++) {
+            Objective f = FUNCTIONS[k];
+            double lo = f.lowerBound(), hi = f.upperBound();
+            for (int v = 0; v < 2; v++) {
+                int hits = 0;
+                double hitEvals = 0, evals = 0, screened = 0, reused = 0;
+                double[] best = new double[reps];
+                for (int r = 0; r < reps; r++) {
+                    SurrogateScreen s = v == 1 ? new SurrogateScreen(f, n, dim, lo, hi, capacity) : null;
+                    GWOEngine e = new GWOEngine(s != null ? s : f, n, dim, lo, hi, maxIter, 500 + r);
+                    if (s != null) e.leaderStrategy(s);
+                    long hitAt = -1;
+                    while (e.iter < maxIter && e.evals < budget) {
+                        e.step();
+                        if (hitAt < 0 && e.bestValue() <= TARGETS[k]) hitAt = e.evals;
+                    }
+                    if (hitAt >= 0) {
+                        hits++;
+                        hitEvals += hitAt;
+                    }
+                    best[r] = e.bestValue();
+                    evals += e.evals;
+                    if (s != null) {
+                        screened += s.screened;
+                        reused += s.reused;
+                    }
+                }
+                java.util.Arrays.sort(best);
+                System.out.printf("%-10s %7.0e | %-9s | %3d/%-3d | %14s | %12.4e | %10.0f | %12.0f | %8.0f%n",
+                        f.name(), TARGETS[k], v == 0 ? "plain" : "surrogate", hits, reps,
+                        hits > 0 ? String.format("%.0f", hitEvals / hits) : "-", best[reps / 2],
+                        evals / reps, screened / reps, reused / reps);
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+// Surrogate layer for GWOEngine when the objective is expensive.
+// It is both the engine's Objective and its LeaderStrategy:
+//   evaluate phase (per block, in parallel, archive read-only):
+//     every wolf is looked up in the SurrogateArchive
+//     - an archived point within `reuse` distance: its stored value is used
+//       as is (the wolf barely moved; no evaluation)
+//     - fewer than k neighbours or nearest farther than `trust`: the true
+//       objective is called (unexplored)
+//     - otherwise a k-NN prediction with a lower confidence bound
+//       lcb = mean - kappa * spread is made; wolves with lcb below the
+//       current delta score, plus the `share` of the block with the lowest
+//       lcb, are sent to the true objective (promising)
+//     - the rest are not evaluated and get a score no better than delta,
+//       so they cannot become a leader on a guess
+//   after merge (calling thread): true evaluations of the iteration are
+//     inserted into the archive in wolf order, exact-match hits are
+//     touched for LRU, and the engine's evaluation count is corrected to
+//     the true calls; then the wrapped strategy runs
+// Scalar value() calls are true evaluations too: HybridGWO's polish and
+// the opposition leader strategy go through them, so they are counted in
+// trueEvals and archived like the pack's. They run on the calling thread
+// between evaluate phases.
+// The archive only changes between evaluate phases, so a seed still gives
+// the same run for any thread count.
+//
+//   SurrogateScreen s = new SurrogateScreen(f, n, dim, lo, hi, 4096);
+//   GWOEngine e = new GWOEngine(s, n, dim, lo, hi, maxIter, seed).leaderStrategy(s);
+public class SurrogateScreen implements Objective, GWOEngine.LeaderStrategy {
+    final Objective f;
+    final int n, dim, k;
+    final SurrogateArchive archive;
+    double trust, reuse;
+    double kappa = 2.0, share = 0.25;
+    GWOEngine.LeaderStrategy next = GWOEngine.LeaderStrategy.NONE;
+
+    final boolean[] evaluated;  // [n] true objective called for wolf i this iteration
+    final int[] hit;            // [n] archive slot reused for wolf i, or NONE
+    double threshold = Double.MAX_VALUE; // delta score the coming evaluate phase screens against
+    final double[] point;       // [dim] wolf being archived
+    final double[] lcb, sorted; // [n] lower bound of each screened wolf, and its sorted copy per block
+    final int[][] nbIdx;        // per block: [k] archive slots of the nearest neighbours
+    final double[][] nbDist2;   // per block: [k] their squared distances
+    long trueEvals = 0, screened = 0, reused = 0;
+
+    SurrogateScreen(Objective f, int n, int dim, double lo, double hi, int capacity) {
+        this.f = f;
+        this.n = n;
+        this.dim = dim;
+        this.k = Math.min(8, dim + 1);
+        this.archive = new SurrogateArchive(dim, capacity, lo, hi, 16);
+        this.trust = 0.05 * (hi - lo) * Math.sqrt(dim);
+        this.reuse = 1e-9 * (hi - lo);
+        this.evaluated = new boolean[n];
+        this.hit = new int[n];
+        this.point = new double[dim];
+        this.lcb = new double[n];
+        this.sorted = new double[n];
+        int blocks = (n + GWOEngine.BLOCK - 1) / GWOEngine.BLOCK;
+        this.nbIdx = new int[blocks][k];
+        this.nbDist2 = new double[blocks][k];
+    }
+
+    // Distance beyond which a prediction is not trusted, and below which an
+    // archived value is reused outright
+    SurrogateScreen radii(double trust, double reuse) {
+        this.trust = trust;
+        this.reuse = reuse;
+        return this;
+    }
+
+    // Optimism of the lower confidence bound, and the fraction of each block
+    // always evaluated (the wolves with the lowest bound); share 0 evaluates
+    // only the wolves whose bound beats delta
+    SurrogateScreen screening(double kappa, double share) {
+        if (!(share >= 0 && share <= 1)) throw new IllegalArgumentException("share must be in [0, 1]: " + share);
+        this.kappa = kappa;
+        this.share = share;
+        return this;
+    }
+
+    // Leader strategy to run after the archive update (e.g. opposition)
+    SurrogateScreen then(GWOEngine.LeaderStrategy s) {
+        next = s;
+        return this;
+    }
+
+    // One true evaluation outside the pack's evaluate phase
+    public double value(double[] x, int off, int dim) {
+        double v = f.value(x, off, dim);
+        archive.insert(x, off, v);
+        trueEvals++;
+        return v;
+    }
+
+    public String name() {
+        return f.name();
+    }
+
+    public double lowerBound() {
+        return f.lowerBound();
+    }
+
+    public double upperBound() {
+        return f.upperBound();
+    }
+
+    public void evaluateColumns(double[] cols, int stride, int first, int count, int dim, double[] out,
+            double[] scratch) {
+        // blocks are scored concurrently: per-wolf arrays are written only in
+        // [first, first + count), the neighbour buffers belong to the block
+        int b = first / GWOEngine.BLOCK;
+        int[] idx = nbIdx[b];
+        double[] d2 = nbDist2[b];
+        double limit = threshold, trust2 = trust * trust, reuse2 = reuse * reuse;
+        double radius = Math.max(trust, reuse); // exact k-NN up to here, best found past it
+        for (int i = first, end = first + count; i < end; i++) {
+            for (int d = 0; d < dim; d++) scratch[d] = cols[d * stride + i];
+            evaluated[i] = false;
+            hit[i] = SurrogateArchive.NONE;
+            lcb[i] = Double.MAX_VALUE;
+            int found = archive.nearest(scratch, 0, k, radius, idx, d2);
+            if (found > 0 && d2[0] <= reuse2) {
+                hit[i] = idx[0];
+                out[i] = archive.vals[idx[0]];
+                continue;
+            }
+            double bound = found < k || d2[0] > trust2 ? -Double.MAX_VALUE : lowerBound(idx, d2, found, out, i);
+            if (bound < limit) {
+                out[i] = f.value(scratch, 0, dim);
+                evaluated[i] = true;
+            } else {
+                lcb[i] = bound;
+            }
+        }
+
+        // the best-looking share of the rest is evaluated anyway, so the
+        // search keeps moving when no prediction beats the leaders
+        int quota = (int) Math.ceil(share * count);
+        double cut = -Double.MAX_VALUE;
+        if (quota > 0) {
+            System.arraycopy(lcb, first, sorted, first, count);
+            java.util.Arrays.sort(sorted, first, first + count);
+            cut = sorted[first + Math.min(count, quota) - 1];
+        }
+        for (int i = first, end = first + count; i < end; i++) {
+            double bound = lcb[i];
+            if (bound == Double.MAX_VALUE) continue;
+            if (bound <= cut && quota-- > 0) {
+                for (int d = 0; d < dim; d++) scratch[d] = cols[d * stride + i];
+                out[i] = f.value(scratch, 0, dim);
+                evaluated[i] = true;
+            } else {
+                out[i] = Math.max(out[i], limit);
+            }
+        }
+    }
+
+    // Inverse-distance-weighted mean and spread of the neighbours' values;
+    // stores the mean in out[i] and returns mean - kappa * spread
+    double lowerBound(int[] idx, double[] d2, int found, double[] out, int i) {
+        double sw = 0, sv = 0, svv = 0;
+        for (int j = 0; j < found; j++) {
+            double w = 1.0 / (d2[j] + 1e-300), y = archive.vals[idx[j]];
+            sw += w;
+            sv += w * y;
+            svv += w * y * y;
+        }
+        double mean = sv / sw, var = Math.max(0, svv / sw - mean * mean);
+        out[i] = mean;
+        return mean - kappa * Math.sqrt(var);
+    }
+
+    public void afterMerge(GWOEngine e) {
+        // touches first: an insert may evict and recycle a slot a hit refers to
+        int calls = 0;
+        for (int i = 0; i < n; i++) {
+            if (evaluated[i]) {
+                calls++;
+            } else if (hit[i] != SurrogateArchive.NONE) {
+                archive.touch(hit[i]);
+                reused++;
+            } else {
+                screened++;
+            }
+        }
+        for (int i = 0; i < n; i++)
+            if (evaluated[i]) archive.insert(e.position(i, point), 0, e.scores[i]);
+        trueEvals += calls;
+        e.evals -= n - calls; // the engine counted one evaluation per wolf
+        next.afterMerge(e);
+        threshold = e.leaders.deltaScore;
+    }
+}
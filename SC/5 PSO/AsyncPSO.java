@@ -0,0 +1,147 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Asynchronous PSO for slow objectives (simulations, external solvers).
+// Every particle is an independent chain of tasks: move -> evaluate ->
+// update own best -> offer to the global best -> resubmit. There is no
+// per-iteration barrier, so a slow evaluation only delays its own particle.
+// Each particle has at most one task in flight, so its slice of the flat
+// arrays is only touched by one thread at a time. The global best is an
+// immutable snapshot swapped in with compareAndSet when a particle improves
+// on it.
+//
+// Runs are not reproducible: which global best a particle sees depends on
+// evaluation timing. Each particle's own random stream is still seeded.
+//
+// A chain ends when the budget is spent or its task fails (the objective
+// throws, the executor rejects the resubmit); either way it counts down
+// `done` exactly once. The first failure stops the other chains at their
+// next step and is rethrown by run().
+public class AsyncPSO {
+    static final class Best {
+        final double val;
+        final double[] x;
+
+        Best(double val, double[] x) {
+            this.val = val;
+            this.x = x;
+        }
+    }
+
+    final Objective f;
+    final int n, dim;
+    final double lo, hi, w, c1, c2, vmax;
+    final double[] pos, vel, pbest, pbestVal;
+    final SplitMix64[] rng;      // one stream per particle
+    final boolean[] evaluated;   // initial position scored yet?
+
+    final AtomicReference<Best> best = new AtomicReference<>(new Best(Double.MAX_VALUE, null));
+    final AtomicLong evals = new AtomicLong();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    long budget;
+    CountDownLatch done;
+    ExecutorService exec;
+
+    AsyncPSO(Objective f, int n, int dim, double w, double c1, double c2, long seed) {
+        this.f = f;
+        this.n = n;
+        this.dim = dim;
+        this.lo = f.lowerBound();
+        this.hi = f.upperBound();
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.vmax = (hi - lo) * 0.5;
+        this.pos = new double[n * dim];
+        this.vel = new double[n * dim];
+        this.pbest = new double[n * dim];
+        this.pbestVal = new double[n];
+        this.rng = new SplitMix64[n];
+        this.evaluated = new boolean[n];
+        SplitMix64 master = new SplitMix64(seed);
+        for (int i = 0; i < n; i++) {
+            SplitMix64 r = rng[i] = master.split();
+            for (int d = i * dim; d < (i + 1) * dim; d++) {
+                pos[d] = lo + (hi - lo) * r.nextDouble();
+                vel[d] = (r.nextDouble() - 0.5) * (hi - lo) * 0.5;
+            }
+            pbestVal[i] = Double.MAX_VALUE;
+        }
+    }
+
+    // Runs until maxEvals objective evaluations have been started
+    Best run(long maxEvals, ExecutorService exec) throws InterruptedException {
+        this.budget = maxEvals;
+        this.exec = exec;
+        this.done = new CountDownLatch(n);
+        failure.set(null);
+        for (int i = 0; i < n; i++) {
+            final int p = i;
+            try {
+                exec.execute(() -> stepParticle(p));
+            } catch (RejectedExecutionException e) {
+                failure.compareAndSet(null, e);
+                done.countDown();
+            }
+        }
+        done.await();
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException) throw (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        if (t != null) throw new IllegalStateException("particle task failed", t);
+        return best.get();
+    }
+
+    void stepParticle(int i) {
+        boolean resubmitted = false;
+        try {
+            if (failure.get() != null || evals.getAndIncrement() >= budget) return;
+            int off = i * dim;
+            if (evaluated[i]) {
+                Best g = best.get();
+                double[] social = g.x != null ? g.x : pbest;
+                int soff = g.x != null ? 0 : off;
+                VelocityKernel.move(pos, vel, pbest, social, off, soff, dim, w, c1, c2, vmax, lo, hi, rng[i]);
+            }
+            evaluated[i] = true;
+
+            double v = f.value(pos, off, dim);
+            if (v < pbestVal[i]) {
+                pbestVal[i] = v;
+                System.arraycopy(pos, off, pbest, off, dim);
+                offer(v, off);
+            }
+            exec.execute(() -> stepParticle(i));
+            resubmitted = true;
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        } finally {
+            if (!resubmitted) done.countDown();
+        }
+    }
+
+    // Publishes a new global best unless a better one got there first
+    void offer(double v, int off) {
+        Best cur = best.get();
+        if (v >= cur.val) return;
+        double[] x = new double[dim];
+        System.arraycopy(pos, off, x, 0, dim);
+        Best next = new Best(v, x);
+        while (v < cur.val && !best.compareAndSet(cur, next))
+            cur = best.get();
+    }
+
+    // Virtual-thread-per-task executor when the JDK has one (21+), otherwise
+    // a fixed pool with one platform thread per particle, up to maxThreads
+    static ExecutorService executor(int particles, int maxThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, Math.min(particles, maxThreads)));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Wall time of synchronous vs asynchronous PSO when every evaluation is
+// slow and its duration varies a lot. The objective is Rosenbrock plus a
+// sleep drawn from a heavy-tailed distribution (mostly ~meanMs, sometimes
+// 10x longer), standing in for a simulation call.
+// Both runs get the same number of worker threads: the synchronous engine
+// scores each iteration's swarm on the pool and waits for all of it, the
+// asynchronous one keeps every worker busy. The ratio therefore measures
+// the cost of the per-iteration barrier, not parallelism.
+// Usage: java AsyncPSOBench [swarm] [evaluations] [meanMs] [dim]
+public class AsyncPSOBench {
+    // Rosenbrock that sleeps first; the delay depends only on the point
+    static Objective slow(double meanMs) {
+        return (x, off, dim) -> {
+            long h = Double.doubleToLongBits(x[off]) * 0x9E3779B97F4A7C15L;
+            double u = ((h >>> 11) & 0xFFFF) / 65536.0;
+            double ms = u < 0.9 ? meanMs * (0.5 + u) : meanMs * 10;
+            try {
+                Thread.sleep((long) ms, (int) ((ms % 1) * 1e6));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Objectives.ROSENBROCK.value(x, off, dim);
+        };
+    }
+
+    // f whose block evaluation runs the points on exec and returns when all
+    // are scored: a synchronous swarm step with exec's workers
+    static Objective fanOut(Objective f, ExecutorService exec) {
+        return new Objective() {
+            public double value(double[] x, int off, int dim) {
+                return f.value(x, off, dim);
+            }
+
+            public void evaluate(double[] xs, int first, int count, int dim, double[] out) {
+                CountDownLatch left = new CountDownLatch(count);
+                for (int i = first, end = first + count; i < end; i++) {
+                    final int p = i;
+                    exec.execute(() -> {
+                        try {
+                            out[p] = f.value(xs, p * dim, dim);
+                        } finally {
+                            left.countDown();
+                        }
+                    });
+                }
+                try {
+                    left.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        int swarm = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int evals = args.length > 1 ? Integer.parseInt(args[1]) : 1600;
+        double meanMs = args.length > 2 ? Double.parseDouble(args[2]) : 2;
+        int dim = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        Objective f = slow(meanMs);
+
+        System.out.println("=== Async PSO vs synchronous PSO (slow objective) ===");
+        System.out.printf("swarm = %d, evaluations = %d, mean delay = %.1f ms, dim = %d%n%n", swarm, evals, meanMs,
+                dim);
+        System.out.printf("%7s | %-12s | %9s | %12s | %7s%n", "workers", "mode", "wall", "best", "speedup");
+
+        for (int workers : new int[] { swarm, Math.max(1, swarm / 4) }) {
+            // synchronous: whole swarm per iteration, then a barrier
+            ExecutorService exec = Executors.newFixedThreadPool(workers);
+            long t0 = System.nanoTime();
+            PSOEngine sync = new PSOEngine(fanOut(f, exec), swarm, dim, -5, 5, 0.7, 1.5, 1.5, 5, 1);
+            sync.run(Math.max(0, evals / swarm - 1));
+            double syncMs = (System.nanoTime() - t0) / 1e6;
+            exec.shutdown();
+            System.out.printf("%7d | %-12s | %6.0f ms | %12.6e | %7s%n", workers, "synchronous", syncMs,
+                    sync.bestValue(), "");
+
+            exec = Executors.newFixedThreadPool(workers);
+            AsyncPSO async = new AsyncPSO(f, swarm, dim, 0.7, 1.5, 1.5, 1);
+            t0 = System.nanoTime();
+            AsyncPSO.Best b = async.run(evals, exec);
+            double asyncMs = (System.nanoTime() - t0) / 1e6;
+            exec.shutdown();
+            System.out.printf("%7d | %-12s | %6.0f ms | %12.6e | %6.2fx%n", workers, "asynchronous", asyncMs, b.val,
+                    syncMs / asyncMs);
+        }
+    }
+}
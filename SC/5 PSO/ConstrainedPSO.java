@@ -0,0 +1,47 @@
+// Constrained PSO demo: every repair rule on two problems.
+//  1) Rosenbrock restricted to a disk and a half-plane
+//       x^2 + y^2 <= 2,  x - y <= 0.5,  x, y in [-1.5, 1.5]
+//     optimum f(1, 1) = 0 on the edge of the disk
+//  2) 30-D sphere with sum(x) >= 10 in the large box [-1e4, 1e4]^30
+//     optimum x_i = 1/3, f = 10/3
+// Usage: java ConstrainedPSO [swarm] [iterations] [seed]
+public class ConstrainedPSO {
+    public static void main(String[] args) {
+        int swarm = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int maxIter = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        System.out.println("=== Constrained PSO ===");
+        System.out.printf("swarm = %d, iterations = %d, seed = %d%n", swarm, maxIter, seed);
+
+        System.out.println("\n-- Rosenbrock, disk + half-plane (optimum 0 at (1, 1)) --");
+        for (Constraints.Repair r : Constraints.Repair.values()) {
+            Constraints c = new Constraints(Objectives.ROSENBROCK, 2)
+                    .bounds(-1.5, 1.5)
+                    .nonlinear((x, off, dim) -> x[off] * x[off] + x[off + 1] * x[off + 1] - 2)
+                    .linear(new double[] { 1, -1 }, 0.5)
+                    .repair(r);
+            report(r, c, new PSOEngine(c, swarm, 0.7, 1.5, 1.5, seed), maxIter);
+        }
+
+        System.out.println("\n-- 30-D sphere, sum(x) >= 10, box [-1e4, 1e4] (optimum 3.333333) --");
+        double[] minusOnes = new double[30];
+        java.util.Arrays.fill(minusOnes, -1);
+        for (Constraints.Repair r : Constraints.Repair.values()) {
+            Constraints c = new Constraints(Objectives.SPHERE, 30)
+                    .bounds(-1e4, 1e4)
+                    .linear(minusOnes, -10)
+                    .repair(r);
+            report(r, c, new PSOEngine(c, swarm, 0.7, 1.5, 1.5, seed), maxIter);
+        }
+    }
+
+    static void report(Constraints.Repair r, Constraints c, PSOEngine e, int maxIter) {
+        long t0 = System.nanoTime();
+        e.run(maxIter, new Termination().stagnation(200, 1e-12));
+        double ms = (System.nanoTime() - t0) / 1e6;
+        double[] x = e.bestPosition(new double[e.dim]);
+        System.out.printf("%-8s f = %.8f  penalised = %.8f  feasible = %-5s iter = %4d  %.1f ms  x = %s%n",
+                r, c.f.value(x), e.bestValue(), c.feasible(x, 0, 1e-6), e.iter, ms, PSOEngine.formatPoint(x));
+    }
+}
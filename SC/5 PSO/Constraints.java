@@ -0,0 +1,130 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Constraint handling for PSOEngine.
+//  - per-dimension box lo[d] <= x[d] <= hi[d], enforced by the chosen Repair
+//  - linear inequalities  a_j . x <= b_j
+//  - nonlinear inequalities g_k(x) <= 0
+// Inequalities (and the box, under Repair.PENALTY) are handled with a
+// static quadratic penalty mu * sum(max(0, violation)^2). Constraints is
+// itself an Objective: value() returns f(x) plus the penalty, computed in
+// the same call, so the engine's batch evaluation scores the objective and
+// the constraints in one pass over each block.
+public class Constraints implements Objective {
+    enum Repair {
+        PENALTY,  // leave positions alone, penalise leaving the box
+        CLAMP,    // project onto the box
+        REFLECT,  // mirror back into the box and reverse the velocity
+        REINIT    // redraw the offending coordinate uniformly in the box
+    }
+
+    final Objective f;
+    final int dim;
+    final double[] lo, hi;
+    Repair repair = Repair.CLAMP;
+    double mu = 1e6;
+
+    double[] a = new double[0];     // [m*dim] linear rows
+    double[] b = new double[0];     // [m]
+    int linear = 0;
+    final List<Objective> nonlinear = new ArrayList<>();
+
+    Constraints(Objective f, int dim) {
+        this.f = f;
+        this.dim = dim;
+        this.lo = new double[dim];
+        this.hi = new double[dim];
+        Arrays.fill(lo, f.lowerBound());
+        Arrays.fill(hi, f.upperBound());
+    }
+
+    Constraints bounds(double[] lo, double[] hi) {
+        if (lo.length != dim || hi.length != dim) throw new IllegalArgumentException("bounds must have " + dim + " entries");
+        for (int d = 0; d < dim; d++)
+            if (!(lo[d] < hi[d])) throw new IllegalArgumentException("empty box in dimension " + d);
+        System.arraycopy(lo, 0, this.lo, 0, dim);
+        System.arraycopy(hi, 0, this.hi, 0, dim);
+        return this;
+    }
+
+    Constraints bounds(double lo, double hi) {
+        Arrays.fill(this.lo, lo);
+        Arrays.fill(this.hi, hi);
+        return this;
+    }
+
+    // row . x <= rhs
+    Constraints linear(double[] row, double rhs) {
+        if (row.length != dim) throw new IllegalArgumentException("row must have " + dim + " entries");
+        a = Arrays.copyOf(a, (linear + 1) * dim);
+        b = Arrays.copyOf(b, linear + 1);
+        System.arraycopy(row, 0, a, linear * dim, dim);
+        b[linear++] = rhs;
+        return this;
+    }
+
+    // g(x) <= 0
+    Constraints nonlinear(Objective g) {
+        nonlinear.add(g);
+        return this;
+    }
+
+    Constraints repair(Repair r) {
+        repair = r;
+        return this;
+    }
+
+    Constraints penalty(double mu) {
+        this.mu = mu;
+        return this;
+    }
+
+    // Sum of squared violations at x[off .. off+dim)
+    double violation(double[] x, int off) {
+        double v = 0;
+        if (repair == Repair.PENALTY) {
+            for (int k = 0; k < dim; k++) {
+                double e = Math.max(lo[k] - x[off + k], x[off + k] - hi[k]);
+                if (e > 0) v += e * e;
+            }
+        }
+        for (int j = 0; j < linear; j++) {
+            double s = -b[j];
+            for (int k = 0, r = j * dim; k < dim; k++)
+                s += a[r + k] * x[off + k];
+            if (s > 0) v += s * s;
+        }
+        for (int j = 0; j < nonlinear.size(); j++) {
+            double g = nonlinear.get(j).value(x, off, dim);
+            if (g > 0) v += g * g;
+        }
+        return v;
+    }
+
+    boolean feasible(double[] x, int off, double tol) {
+        for (int k = 0; k < dim; k++)
+            if (x[off + k] < lo[k] - tol || x[off + k] > hi[k] + tol) return false;
+        return violation(x, off) <= tol * tol;
+    }
+
+    public double value(double[] x, int off, int dim) {
+        return f.value(x, off, dim) + mu * violation(x, off);
+    }
+
+    public String name() {
+        return f.name() + "+constraints";
+    }
+
+    public double lowerBound() {
+        double m = lo[0];
+        for (double v : lo) m = Math.min(m, v);
+        return m;
+    }
+
+    public double upperBound() {
+        double m = hi[0];
+        for (double v : hi) m = Math.max(m, v);
+        return m;
+    }
+}
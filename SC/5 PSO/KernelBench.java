@@ -0,0 +1,149 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Micro-benchmark of the PSO inner update, in ns per particle per iteration
+// and bytes allocated per iteration. It compares:
+//   legacy - Particle objects, shared java.util.Random, branchy clamps,
+//            bestPos/gBest cloned on improvement (the original PSO.java loop)
+//   kernel - flat arrays + VelocityKernel.move + SplitMix64, in-place bests
+//   engine - a full single-threaded PSOEngine.step()
+// Each case gets warm-up iterations first and is then timed over a fixed
+// number of iterations on an already initialised swarm.
+// Usage: java KernelBench [iterations] [dims...]
+public class KernelBench {
+    static final int[] SWARM_SIZES = { 1_000, 10_000, 100_000 };
+    static final double LO = -5, HI = 5, W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
+
+    static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // ---------- legacy path ----------
+    static class Legacy {
+        final PSOEngineBench.LegacyParticle[] swarm;
+        final Random rand = new Random(1);
+        final int dim;
+        double[] gBest;
+        double gVal = Double.MAX_VALUE;
+
+        Legacy(int n, int dim) {
+            this.dim = dim;
+            swarm = new PSOEngineBench.LegacyParticle[n];
+            for (int i = 0; i < n; i++) swarm[i] = new PSOEngineBench.LegacyParticle(dim, LO, HI, rand);
+            gBest = swarm[0].bestPos.clone();
+            for (PSOEngineBench.LegacyParticle p : swarm)
+                if (p.bestVal < gVal) {
+                    gVal = p.bestVal;
+                    gBest = p.bestPos.clone();
+                }
+        }
+
+        void iterate() {
+            for (PSOEngineBench.LegacyParticle p : swarm) {
+                for (int d = 0; d < dim; d++) {
+                    double r1 = rand.nextDouble(), r2 = rand.nextDouble();
+                    p.vel[d] = W * p.vel[d] + C1 * r1 * (p.bestPos[d] - p.pos[d]) + C2 * r2 * (gBest[d] - p.pos[d]);
+                    if (p.vel[d] > VMAX) p.vel[d] = VMAX;
+                    if (p.vel[d] < -VMAX) p.vel[d] = -VMAX;
+                    p.pos[d] += p.vel[d];
+                    if (p.pos[d] < LO) p.pos[d] = LO;
+                    if (p.pos[d] > HI) p.pos[d] = HI;
+                }
+                double val = Objectives.ROSENBROCK.value(p.pos);
+                if (val < p.bestVal) {
+                    p.bestVal = val;
+                    p.bestPos = p.pos.clone();
+                }
+                if (p.bestVal < gVal) {
+                    gVal = p.bestVal;
+                    gBest = p.bestPos.clone();
+                }
+            }
+        }
+    }
+
+    // ---------- kernel path ----------
+    static class Flat {
+        final int n, dim;
+        final double[] pos, vel, pbest, pbestVal, gbest;
+        final SplitMix64 rng = new SplitMix64(1);
+        int gIdx = 0;
+
+        Flat(int n, int dim) {
+            this.n = n;
+            this.dim = dim;
+            pos = new double[n * dim];
+            vel = new double[n * dim];
+            pbest = new double[n * dim];
+            pbestVal = new double[n];
+            gbest = new double[dim];
+            for (int d = 0; d < n * dim; d++) {
+                pos[d] = LO + (HI - LO) * rng.nextDouble();
+                vel[d] = (rng.nextDouble() - 0.5) * (HI - LO) * 0.5;
+                pbest[d] = pos[d];
+            }
+            for (int i = 0; i < n; i++) {
+                pbestVal[i] = Objectives.ROSENBROCK.value(pos, i * dim, dim);
+                if (pbestVal[i] < pbestVal[gIdx]) gIdx = i;
+            }
+        }
+
+        void iterate() {
+            System.arraycopy(pbest, gIdx * dim, gbest, 0, dim);
+            for (int i = 0; i < n; i++) {
+                int off = i * dim;
+                VelocityKernel.move(pos, vel, pbest, gbest, off, 0, dim, W, C1, C2, VMAX, LO, HI, rng);
+                double v = Objectives.ROSENBROCK.value(pos, off, dim);
+                if (v < pbestVal[i]) {
+                    pbestVal[i] = v;
+                    System.arraycopy(pos, off, pbest, off, dim);
+                    if (v < pbestVal[gIdx]) gIdx = i;
+                }
+            }
+        }
+    }
+
+    interface Case {
+        void iterate();
+    }
+
+    // Returns { ns per particle-iteration, bytes per iteration }
+    static double[] measure(Case c, int n, int iters) {
+        for (int i = 0; i < Math.max(20, iters / 2); i++) c.iterate();
+        long a0 = allocated(), t0 = System.nanoTime();
+        for (int i = 0; i < iters; i++) c.iterate();
+        long t = System.nanoTime() - t0, a = allocated() - a0;
+        return new double[] { t / ((double) n * iters), a / (double) iters };
+    }
+
+    public static void main(String[] args) {
+        int iters = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int[] dims = { 2, 30 };
+        if (args.length > 1) {
+            dims = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) dims[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("=== PSO update kernel benchmark (Rosenbrock) ===");
+        System.out.printf("timed iterations = %d%n%n", iters);
+        System.out.printf("%4s %8s | %-6s | %12s | %14s%n", "dim", "swarm", "path", "ns/p/iter", "bytes/iter");
+        for (int dim : dims) {
+            for (int n : SWARM_SIZES) {
+                Legacy legacy = new Legacy(n, dim);
+                Flat flat = new Flat(n, dim);
+                PSOEngine engine = PSOEngine.withDefaults(n, dim, 1);
+                double[][] r = {
+                    measure(legacy::iterate, n, iters),
+                    measure(flat::iterate, n, iters),
+                    measure(engine::step, n, iters)
+                };
+                String[] names = { "legacy", "kernel", "engine" };
+                for (int k = 0; k < 3; k++)
+                    System.out.printf("%4d %8d | %-6s | %12.2f | %14.0f%n", dim, n, names[k], r[k][0], r[k][1]);
+            }
+        }
+    }
+}
@@ -1,31 +1,20 @@
-import java.util.Random;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
-import java.util.ArrayList;
-
-class Particle {
-    double[] pos, vel, bestPos;
-    double bestVal;
-
-    Particle(int dim, double lo, double hi, Random r) {
-        pos = new double[dim];
-        vel = new double[dim];
-        bestPos = new double[dim];
-        for (int i = 0; i < dim; i++) {
-            pos[i] = lo + (hi - lo) * r.nextDouble();
-            vel[i] = (r.nextDouble() - 0.5) * (hi - lo) * 0.5;
-            bestPos[i] = pos[i];
-        }
-        bestVal = rosenbrock(pos);
-    }
-
-    static double rosenbrock(double[] p) {
-        double x = p[0], y = p[1];
-        return Math.pow(1 - x, 2) + 100 * Math.pow(y - x * x, 2);
-    }
-}
 
+// Usage: java PSO [checkpointFile [everyIters]]
+// The stopping rules (target value, stagnation window, swarm diameter) and
+// stalled-particle restarts are asked for after the objective; each is off
+// unless a value is entered, so by default the run goes to max iterations.
+// With a checkpoint file the swarm state is saved there every everyIters
+// iterations (default 1000). If the file already holds a checkpoint for the
+// same inputs, the run continues from it instead of starting over; a
+// checkpoint for other inputs is reported, ignored and overwritten by the
+// new run.
 public class PSO {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Scanner sc = new Scanner(System.in);
         System.out.print("Swarm size (enter for 30): ");
         String s = sc.nextLine().trim();
@@ -33,12 +22,34 @@ public class PSO {
         System.out.print("Max iterations (enter for 1000): ");
         s = sc.nextLine().trim();
         int MAX_ITER = s.isEmpty() ? 1000 : Integer.parseInt(s);
+        System.out.print("Dimensions (enter for 2): ");
+        s = sc.nextLine().trim();
+        int DIM = s.isEmpty() ? 2 : Integer.parseInt(s);
+        System.out.print("Threads (enter for 1): ");
+        s = sc.nextLine().trim();
+        int THREADS = s.isEmpty() ? 1 : Integer.parseInt(s);
+        System.out.print("Objective (enter for rosenbrock): ");
+        s = sc.nextLine().trim();
+        Objective F = s.isEmpty() ? Objectives.ROSENBROCK : Objectives.byName(s);
+        System.out.print("Stop at target value (enter for none): ");
+        s = sc.nextLine().trim();
+        double TARGET = s.isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(s);
+        System.out.print("Stop on stagnation: window [relTol] (enter for none, e.g. 50 1e-12): ");
+        String[] parts = sc.nextLine().trim().split("\\s+");
+        int STALL_WINDOW = parts[0].isEmpty() ? 0 : Integer.parseInt(parts[0]);
+        double STALL_TOL = parts.length > 1 ? Double.parseDouble(parts[1]) : 1e-12;
+        System.out.print("Stop when the swarm diameter is below (enter for none): ");
+        s = sc.nextLine().trim();
+        double DIAMETER = s.isEmpty() ? 0 : Double.parseDouble(s);
+        System.out.print("Restart particles stalled for N iterations (enter for none): ");
+        s = sc.nextLine().trim();
+        int RESTART = s.isEmpty() ? 0 : Integer.parseInt(s);
 
-        final int DIM = 2;
-        final double LO = -5, HI = 5, W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
+        final double LO = F.lowerBound(), HI = F.upperBound(), W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
 
         // Print declared variables
         System.out.println("\n===== Pre-declared Variables =====");
+        System.out.printf("F        = %s%n", F.name());
         System.out.printf("DIM      = %d%n", DIM);
         System.out.printf("LO       = %.2f%n", LO);
         System.out.printf("HI       = %.2f%n", HI);
@@ -48,54 +59,63 @@ public class PSO {
         System.out.printf("VMAX     = %.2f%n", VMAX);
         System.out.printf("SWARM    = %d%n", SWARM);
         System.out.printf("MAX_ITER = %d%n", MAX_ITER);
+        System.out.printf("THREADS  = %d%n", THREADS);
+        System.out.printf("TARGET   = %s%n", TARGET == Double.NEGATIVE_INFINITY ? "off" : String.valueOf(TARGET));
+        System.out.printf("STALL    = %s%n",
+                STALL_WINDOW > 0 ? STALL_WINDOW + " iterations, relTol " + STALL_TOL : "off");
+        System.out.printf("DIAMETER = %s%n", DIAMETER > 0 ? String.valueOf(DIAMETER) : "off");
+        System.out.printf("RESTART  = %s%n", RESTART > 0 ? "after " + RESTART + " stalled iterations" : "off");
         System.out.println("==================================\n");
 
-        Random rand = new Random();
-        Particle[] swarm = new Particle[SWARM];
-        for (int i = 0; i < SWARM; i++)
-            swarm[i] = new Particle(DIM, LO, HI, rand);
-
-        double[] gBest = swarm[0].bestPos.clone();
-        double gVal = Double.MAX_VALUE;
+        PSOEngine swarm = new PSOEngine(F, SWARM, DIM, LO, HI, W, C1, C2, VMAX, System.nanoTime())
+                .parallel(THREADS)
+                .restarts(RESTART);
+        double[] gBest = new double[DIM];
 
-        for (Particle p : swarm)
-            if (p.bestVal < gVal) {
-                gVal = p.bestVal;
-                gBest = p.bestPos.clone();
+        if (args.length > 0) {
+            Path file = Paths.get(args[0]);
+            int every = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            ByteBuffer saved = Checkpoint.load(file, PSOEngine.CHECKPOINT_KIND);
+            if (saved != null) {
+                try {
+                    swarm.restore(saved);
+                    System.out.printf("Resuming from %s at iteration %d (best = %.10f)%n", file, swarm.iter,
+                            swarm.bestValue());
+                } catch (IllegalArgumentException e) {
+                    System.out.printf("Not resuming from %s: %s; starting a new run%n", file, e.getMessage());
+                }
             }
+            swarm.checkpoint(Checkpoint.open(file, PSOEngine.CHECKPOINT_KIND, swarm.checkpointBytes()), every);
+            System.out.printf("Checkpointing to %s every %d iterations%n%n", file, every);
+        }
+
+        // rules left at their defaults never fire
+        Termination stop = new Termination()
+                .target(TARGET)
+                .stagnation(STALL_WINDOW, STALL_TOL)
+                .diameter(DIAMETER);
+        String why = "max iterations reached";
 
         int progressStep = Math.max(1, MAX_ITER / 10);
 
-        for (int iter = 0; iter < MAX_ITER; iter++) {
-            for (Particle p : swarm) {
-                for (int d = 0; d < DIM; d++) {
-                    double r1 = rand.nextDouble(), r2 = rand.nextDouble();
-                    p.vel[d] = W * p.vel[d] + C1 * r1 * (p.bestPos[d] - p.pos[d]) + C2 * r2 * (gBest[d] - p.pos[d]);
-                    if (p.vel[d] > VMAX) p.vel[d] = VMAX;
-                    if (p.vel[d] < -VMAX) p.vel[d] = -VMAX;
+        for (int iter = swarm.iter; iter < MAX_ITER; iter++) {
+            swarm.step();
 
-                    p.pos[d] += p.vel[d];
-                    if (p.pos[d] < LO) p.pos[d] = LO;
-                    if (p.pos[d] > HI) p.pos[d] = HI;
-                }
+            if (iter % progressStep == 0)
+                System.out.printf("Iter %4d / %d : best = %.10f at %s%n",
+                        iter, MAX_ITER, swarm.bestValue(), PSOEngine.formatPoint(swarm.bestPosition(gBest)));
 
-                double val = Particle.rosenbrock(p.pos);
-                if (val < p.bestVal) {
-                    p.bestVal = val;
-                    p.bestPos = p.pos.clone();
-                }
-                if (p.bestVal < gVal) {
-                    gVal = p.bestVal;
-                    gBest = p.bestPos.clone();
-                }
+            String reason = stop.check(swarm);
+            if (reason != null) {
+                why = reason;
+                break;
             }
-
-            if (iter % progressStep == 0)
-                System.out.printf("Iter %4d / %d : best = %.10f at (%.6f, %.6f)%n", 
-                        iter, MAX_ITER, gVal, gBest[0], gBest[1]);
         }
+        System.out.printf("\nStopped after %d iterations: %s%n", swarm.iter, why);
+        if (RESTART > 0) System.out.printf("Particles restarted: %d%n", swarm.restarts);
 
-        System.out.printf("\nFinal best: f(%.6f, %.6f) = %.12f%n", gBest[0], gBest[1], gVal);
+        System.out.printf("Final best: f%s = %.12f%n", PSOEngine.formatPoint(swarm.bestPosition(gBest)), swarm.bestValue());
+        swarm.shutdown();
         sc.close();
     }
 }
@@ -0,0 +1,195 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Headless PSO parameter sweep.
+// Runs every (W, C1, C2, VMAX) combination of the grid `reps` times, one
+// single-threaded PSOEngine per task, spread over all cores. Repetition r
+// uses seed + r for every configuration, so configurations are compared on
+// the same random streams.
+//
+// Example:
+//   java PSOBatch --W 0.4,0.6,0.8 --C1 1,1.5,2 --C2 1.5 --VMAX 2.5,5 \
+//        --reps 20 --swarm 30 --iter 1000 --dim 2 --f rosenbrock --tol 1e-8 --out sweep.csv
+// --restart N re-seeds particles stuck for N iterations (see PSOEngine.restarts).
+//
+// Output: CSV (one row per run), or a packed binary file if --out ends in .bin:
+//   int magic 'PSOB', int rows, then per row:
+//   int config, int rep, double W, C1, C2, VMAX, long seed, double best, int iterToTol, double ms
+public class PSOBatch {
+    static final int MAGIC = 0x50534F42; // "PSOB"
+
+    // Per-run results, indexed by run = config * reps + rep
+    static class Results {
+        final double[] best, ms;
+        final int[] iterToTol;
+
+        Results(int runs) {
+            best = new double[runs];
+            ms = new double[runs];
+            iterToTol = new int[runs];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double[] ws = { 0.7 }, c1s = { 1.5 }, c2s = { 1.5 }, vmaxs = { -1 };
+        int reps = 10, swarm = 30, maxIter = 1000, dim = 2, restart = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        double tol = 1e-8;
+        Objective f = Objectives.ROSENBROCK;
+        String out = "pso_sweep.csv";
+
+        for (int i = 0; i < args.length; i++) {
+            String key = args[i], val = i + 1 < args.length ? args[++i] : "";
+            switch (key) {
+                case "--W":       ws = parseList(val); break;
+                case "--C1":      c1s = parseList(val); break;
+                case "--C2":      c2s = parseList(val); break;
+                case "--VMAX":    vmaxs = parseList(val); break;
+                case "--reps":    reps = Integer.parseInt(val); break;
+                case "--swarm":   swarm = Integer.parseInt(val); break;
+                case "--iter":    maxIter = Integer.parseInt(val); break;
+                case "--dim":     dim = Integer.parseInt(val); break;
+                case "--threads": threads = Integer.parseInt(val); break;
+                case "--seed":    seed = Long.parseLong(val); break;
+                case "--tol":     tol = Double.parseDouble(val); break;
+                case "--f":       f = Objectives.byName(val); break;
+                case "--out":     out = val; break;
+                case "--restart": restart = Integer.parseInt(val); break;
+                default: throw new IllegalArgumentException("unknown option: " + key);
+            }
+        }
+
+        double lo = f.lowerBound(), hi = f.upperBound();
+        // VMAX <= 0 means "half the search range", as in PSO.java
+        for (int i = 0; i < vmaxs.length; i++)
+            if (vmaxs[i] <= 0) vmaxs[i] = (hi - lo) * 0.5;
+
+        int configs = ws.length * c1s.length * c2s.length * vmaxs.length;
+        double[][] grid = new double[configs][];
+        int c = 0;
+        for (double w : ws)
+            for (double c1 : c1s)
+                for (double c2 : c2s)
+                    for (double vmax : vmaxs)
+                        grid[c++] = new double[] { w, c1, c2, vmax };
+
+        System.out.println("=== PSO batch sweep ===");
+        System.out.printf("f = %s, dim = %d, swarm = %d, iter = %d, tol = %.1e%n", f.name(), dim, swarm, maxIter, tol);
+        System.out.printf("configs = %d, reps = %d, runs = %d, threads = %d%n", configs, reps, configs * reps, threads);
+
+        Results res = new Results(configs * reps);
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+        List<Future<?>> pending = new ArrayList<>();
+        long t0 = System.nanoTime();
+        for (int cfg = 0; cfg < configs; cfg++) {
+            for (int r = 0; r < reps; r++) {
+                final int run = cfg * reps + r;
+                final double[] g = grid[cfg];
+                final long runSeed = seed + r;
+                final int fDim = dim, fSwarm = swarm, fIter = maxIter, fRestart = restart;
+                final double fTol = tol;
+                final Objective fF = f;
+                pending.add(exec.submit(() -> runOne(fF, fSwarm, fDim, lo, hi, g, runSeed, fIter, fTol, fRestart, res, run)));
+            }
+        }
+        for (Future<?> p : pending) p.get();
+        exec.shutdown();
+        System.out.printf("done in %.1f s%n", (System.nanoTime() - t0) / 1e9);
+
+        if (out.endsWith(".bin")) writeBinary(out, grid, reps, seed, res);
+        else writeCsv(out, grid, reps, seed, res);
+        System.out.println("results written to " + out);
+        printSummary(grid, reps, res);
+    }
+
+    static void runOne(Objective f, int swarm, int dim, double lo, double hi, double[] g, long seed,
+            int maxIter, double tol, int restart, Results res, int run) {
+        long t0 = System.nanoTime();
+        PSOEngine e = new PSOEngine(f, swarm, dim, lo, hi, g[0], g[1], g[2], g[3], seed).restarts(restart);
+        e.run(maxIter, new Termination().target(tol));
+        int hit = e.bestValue() <= tol ? e.iter : -1;
+        res.best[run] = e.bestValue();
+        res.iterToTol[run] = hit;
+        res.ms[run] = (System.nanoTime() - t0) / 1e6;
+    }
+
+    static void writeCsv(String path, double[][] grid, int reps, long seed, Results res) throws IOException {
+        try (PrintWriter pw = new PrintWriter(path)) {
+            pw.println("config,rep,W,C1,C2,VMAX,seed,best,iter_to_tol,ms");
+            for (int cfg = 0; cfg < grid.length; cfg++) {
+                double[] g = grid[cfg];
+                for (int r = 0; r < reps; r++) {
+                    int run = cfg * reps + r;
+                    pw.printf("%d,%d,%s,%s,%s,%s,%d,%.17g,%d,%.3f%n", cfg, r, g[0], g[1], g[2], g[3],
+                            seed + r, res.best[run], res.iterToTol[run], res.ms[run]);
+                }
+            }
+        }
+    }
+
+    static void writeBinary(String path, double[][] grid, int reps, long seed, Results res) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(grid.length * reps);
+            for (int cfg = 0; cfg < grid.length; cfg++) {
+                double[] g = grid[cfg];
+                for (int r = 0; r < reps; r++) {
+                    int run = cfg * reps + r;
+                    out.writeInt(cfg);
+                    out.writeInt(r);
+                    for (double v : g) out.writeDouble(v);
+                    out.writeLong(seed + r);
+                    out.writeDouble(res.best[run]);
+                    out.writeInt(res.iterToTol[run]);
+                    out.writeDouble(res.ms[run]);
+                }
+            }
+        }
+    }
+
+    // Per-config success rate and mean iterations to tolerance, best config first
+    static void printSummary(double[][] grid, int reps, Results res) {
+        int[] hits = new int[grid.length];
+        double[] meanIter = new double[grid.length];
+        Integer[] order = new Integer[grid.length];
+        for (int cfg = 0; cfg < grid.length; cfg++) {
+            order[cfg] = cfg;
+            for (int r = 0; r < reps; r++) {
+                int it = res.iterToTol[cfg * reps + r];
+                if (it >= 0) {
+                    hits[cfg]++;
+                    meanIter[cfg] += it;
+                }
+            }
+            if (hits[cfg] > 0) meanIter[cfg] /= hits[cfg];
+        }
+        // more hits first, then fewer iterations
+        java.util.Arrays.sort(order, (a, b) -> hits[a] != hits[b] ? hits[b] - hits[a]
+                : Double.compare(meanIter[a], meanIter[b]));
+
+        System.out.println("\nTop configurations:");
+        System.out.printf("%6s | %5s %5s %5s %6s | %7s | %10s%n", "config", "W", "C1", "C2", "VMAX", "hits", "mean iter");
+        for (int k = 0; k < Math.min(10, order.length); k++) {
+            int cfg = order[k];
+            double[] g = grid[cfg];
+            System.out.printf("%6d | %5.2f %5.2f %5.2f %6.2f | %3d/%-3d | %10s%n", cfg, g[0], g[1], g[2], g[3],
+                    hits[cfg], reps, hits[cfg] > 0 ? String.format("%.1f", meanIter[cfg]) : "-");
+        }
+    }
+
+    static double[] parseList(String s) {
+        String[] parts = s.split(",");
+        double[] v = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) v[i] = Double.parseDouble(parts[i].trim());
+        return v;
+    }
+}
@@ -0,0 +1,395 @@
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Structure-of-arrays PSO engine.
+// All particle state lives in flat double[] blocks: particle i owns the
+// slice [i*dim, (i+1)*dim) of pos, vel and pbest. Personal bests are
+// updated in place and the global best is tracked as an index into pbest,
+// so moving the swarm allocates nothing.
+//
+// The update is synchronous: every particle of an iteration reads the same
+// global best, which is merged once after the whole swarm has moved. The
+// swarm is cut into fixed blocks of BLOCK particles and each block owns an
+// SplitMix64 stream split from the seed, so a run depends only on the seed
+// and never on how many threads process the blocks. The per-particle move
+// itself is VelocityKernel.move.
+//
+// With a Topology set, each particle follows the best personal best in its
+// neighbourhood (lbest PSO) instead of the single global best. Neighbourhood
+// bests are gathered into nbest before anyone moves, so blocks never read a
+// pbest slice that another block is rewriting.
+//
+// With restarts enabled, a particle whose personal best has not improved
+// for stallLimit iterations is re-seeded uniformly in the box (new
+// position, velocity and personal best). The global best is never re-seeded.
+//
+// A Constraints object adds per-dimension bounds, inequality constraints
+// and a repair rule; it also wraps the objective, so penalties are scored
+// in the same batch pass.
+//
+// With a Checkpoint attached, the whole mutable state (positions,
+// velocities, personal bests, global best, iteration, block RNG states and
+// restart counters) is saved every `every` iterations. restore() on an
+// engine built with the same arguments continues the run bit-for-bit.
+public class PSOEngine {
+    static final int BLOCK = 1024;
+
+    // Default coefficients (same as PSO.java)
+    static final double DEFAULT_LO = -5, DEFAULT_HI = 5;
+    static final double DEFAULT_W = 0.7, DEFAULT_C1 = 1.5, DEFAULT_C2 = 1.5;
+
+    final Objective f;
+    final Constraints cons;   // null -> plain [lo, hi] box with clamping
+    final int n, dim;
+    final double lo, hi, w, c1, c2, vmax;
+    final double[] loV, hiV;  // [dim] per-dimension box
+
+    final double[] pos;       // [n*dim]
+    final double[] vel;       // [n*dim]
+    final double[] pbest;     // [n*dim]
+    final double[] pbestVal;  // [n]
+    final double[] val;       // [n] objective at the current positions
+    int gIdx = 0;             // particle whose pbest is the global best
+    double gVal = Double.MAX_VALUE;
+    int iter = 0;
+
+    final double[] gbest;     // global best as seen by the current iteration
+    final int blocks;
+    final SplitMix64[] streams;  // one per block
+    final double[] blockBestVal;
+    final int[] blockBestIdx;
+    ForkJoinPool pool;        // null -> blocks run on the calling thread
+
+    Topology topology;        // null -> global best
+    int[] lbest;              // [n] neighbourhood best particle
+    double[] nbest;           // [n*dim] snapshot of each particle's neighbourhood best
+
+    int stallLimit = 0;       // 0 -> no restarts
+    int[] stall;              // [n] iterations since the personal best improved
+    long restarts = 0;
+    long[] blockRestarts;
+
+    static final String CHECKPOINT_KIND = "PSO";
+    Checkpoint checkpoint;    // null -> no checkpoints
+    int checkpointEvery;
+
+    PSOEngine(Objective f, int n, int dim, double lo, double hi, double w, double c1, double c2, double vmax, long seed) {
+        this(f, null, n, dim, lo, hi, w, c1, c2, vmax, seed);
+    }
+
+    // Constrained swarm; VMAX is half the widest box side
+    PSOEngine(Constraints cons, int n, double w, double c1, double c2, long seed) {
+        this(cons, cons, n, cons.dim, cons.lowerBound(), cons.upperBound(), w, c1, c2,
+                (cons.upperBound() - cons.lowerBound()) * 0.5, seed);
+    }
+
+    private PSOEngine(Objective f, Constraints cons, int n, int dim, double lo, double hi,
+            double w, double c1, double c2, double vmax, long seed) {
+        if (n < 1 || dim < 1) throw new IllegalArgumentException("swarm size and dimension must be >= 1");
+        this.f = f;
+        this.cons = cons;
+        this.n = n;
+        this.dim = dim;
+        this.lo = lo;
+        this.hi = hi;
+        this.loV = cons != null ? cons.lo : filled(dim, lo);
+        this.hiV = cons != null ? cons.hi : filled(dim, hi);
+        this.w = w;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.vmax = vmax;
+        this.pos = new double[n * dim];
+        this.vel = new double[n * dim];
+        this.pbest = new double[n * dim];
+        this.pbestVal = new double[n];
+        this.val = new double[n];
+        this.gbest = new double[dim];
+        this.blocks = (n + BLOCK - 1) / BLOCK;
+        this.streams = new SplitMix64[blocks];
+        this.blockBestVal = new double[blocks];
+        this.blockBestIdx = new int[blocks];
+        SplitMix64 master = new SplitMix64(seed);
+        for (int b = 0; b < blocks; b++)
+            streams[b] = master.split();
+        init();
+    }
+
+    static double[] filled(int dim, double v) {
+        double[] a = new double[dim];
+        java.util.Arrays.fill(a, v);
+        return a;
+    }
+
+    // Rosenbrock on [-5, 5] with the coefficients used by PSO.java
+    static PSOEngine withDefaults(int n, int dim, long seed) {
+        double vmax = (DEFAULT_HI - DEFAULT_LO) * 0.5;
+        return new PSOEngine(Objectives.ROSENBROCK, n, dim, DEFAULT_LO, DEFAULT_HI,
+                DEFAULT_W, DEFAULT_C1, DEFAULT_C2, vmax, seed);
+    }
+
+    // Any objective on its own search box with the PSO.java coefficients
+    static PSOEngine withDefaults(Objective f, int n, int dim, long seed) {
+        double lo = f.lowerBound(), hi = f.upperBound();
+        return new PSOEngine(f, n, dim, lo, hi, DEFAULT_W, DEFAULT_C1, DEFAULT_C2, (hi - lo) * 0.5, seed);
+    }
+
+    // Runs the blocks on a ForkJoinPool with the given parallelism (1 = sequential)
+    PSOEngine parallel(int threads) {
+        shutdown();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        return this;
+    }
+
+    // Switches to lbest PSO on the given neighbourhood graph (null = global best)
+    PSOEngine topology(Topology t) {
+        if (t != null && t.n != n) throw new IllegalArgumentException("topology size " + t.n + " != swarm size " + n);
+        topology = t;
+        lbest = t == null ? null : new int[n];
+        nbest = t == null ? null : new double[n * dim];
+        return this;
+    }
+
+    // Re-seeds particles that have not improved for stallLimit iterations (0 = off)
+    PSOEngine restarts(int stallLimit) {
+        this.stallLimit = stallLimit;
+        stall = stallLimit > 0 ? new int[n] : null;
+        blockRestarts = stallLimit > 0 ? new long[blocks] : null;
+        return this;
+    }
+
+    // Saves the state to ck every `every` iterations (null = off)
+    PSOEngine checkpoint(Checkpoint ck, int every) {
+        if (ck != null && ck.payload != checkpointBytes())
+            throw new IllegalArgumentException("checkpoint holds " + ck.payload + " bytes, swarm needs "
+                    + checkpointBytes());
+        checkpoint = ck;
+        checkpointEvery = Math.max(1, every);
+        return this;
+    }
+
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+
+    void init() {
+        for (int b = 0; b < blocks; b++) {
+            SplitMix64 rand = streams[b];
+            int start = b * BLOCK, end = Math.min(n, start + BLOCK);
+            for (int i = start; i < end; i++)
+                randomParticle(i, rand);
+            System.arraycopy(pos, start * dim, pbest, start * dim, (end - start) * dim);
+            f.evaluate(pos, start, end - start, dim, pbestVal);
+            for (int i = start; i < end; i++) {
+                if (pbestVal[i] < gVal) {
+                    gVal = pbestVal[i];
+                    gIdx = i;
+                }
+            }
+        }
+    }
+
+    // One synchronous iteration over the whole swarm
+    void step() {
+        System.arraycopy(pbest, gIdx * dim, gbest, 0, dim);
+        if (topology != null) {
+            if (pool == null) {
+                for (int b = 0; b < blocks; b++) gatherBlock(b);
+            } else {
+                pool.invoke(new BlockTask(0, blocks, true));
+            }
+        }
+        if (pool == null) {
+            for (int b = 0; b < blocks; b++) updateBlock(b);
+        } else {
+            pool.invoke(new BlockTask(0, blocks, false));
+        }
+
+        // merge block bests in block order so ties resolve the same way for any thread count
+        for (int b = 0; b < blocks; b++) {
+            if (blockBestVal[b] < gVal) {
+                gVal = blockBestVal[b];
+                gIdx = blockBestIdx[b];
+            }
+            if (stallLimit > 0) restarts += blockRestarts[b];
+        }
+        iter++;
+        if (checkpoint != null && iter % checkpointEvery == 0) {
+            save(checkpoint.begin());
+            checkpoint.commit();
+        }
+    }
+
+    // ---------- checkpoint ----------
+    // Payload: int n, dim, objective hash, iter, gIdx, stallLimit;
+    // double lo, hi, w, c1, c2, vmax, gVal; long restarts; long[blocks] RNG
+    // states; double[n*dim] pos, vel, pbest; double[n] pbestVal; int[n] stall
+    long checkpointBytes() {
+        return 6 * 4 + 7 * 8 + 8 + blocks * 8L + 3L * n * dim * 8 + n * 8L + n * 4L;
+    }
+
+    void save(ByteBuffer b) {
+        b.putInt(n).putInt(dim).putInt(f.name().hashCode()).putInt(iter).putInt(gIdx).putInt(stallLimit);
+        b.putDouble(lo).putDouble(hi).putDouble(w).putDouble(c1).putDouble(c2).putDouble(vmax).putDouble(gVal);
+        b.putLong(restarts);
+        for (SplitMix64 r : streams) b.putLong(r.getState());
+        Checkpoint.putDoubles(b, pos);
+        Checkpoint.putDoubles(b, vel);
+        Checkpoint.putDoubles(b, pbest);
+        Checkpoint.putDoubles(b, pbestVal);
+        if (stall != null) Checkpoint.putInts(b, stall);
+        else b.position(b.position() + 4 * n);
+    }
+
+    // Continues from a saved state; the engine must have been built with the
+    // same objective, swarm size, dimension, coefficients and restart setting
+    void restore(ByteBuffer b) {
+        int cn = b.getInt(), cdim = b.getInt(), hash = b.getInt(), citer = b.getInt(), cg = b.getInt(),
+                cstall = b.getInt();
+        double clo = b.getDouble(), chi = b.getDouble(), cw = b.getDouble(), cc1 = b.getDouble(),
+                cc2 = b.getDouble(), cvmax = b.getDouble(), cgVal = b.getDouble();
+        if (cn != n || cdim != dim || hash != f.name().hashCode() || cstall != stallLimit || clo != lo || chi != hi
+                || cw != w || cc1 != c1 || cc2 != c2 || cvmax != vmax)
+            throw new IllegalArgumentException(String.format(
+                    "checkpoint is for a different swarm (n=%d dim=%d W=%s C1=%s C2=%s VMAX=%s restart=%d)",
+                    cn, cdim, cw, cc1, cc2, cvmax, cstall));
+        iter = citer;
+        gIdx = cg;
+        gVal = cgVal;
+        restarts = b.getLong();
+        for (SplitMix64 r : streams) r.setState(b.getLong());
+        Checkpoint.getDoubles(b, pos);
+        Checkpoint.getDoubles(b, vel);
+        Checkpoint.getDoubles(b, pbest);
+        Checkpoint.getDoubles(b, pbestVal);
+        if (stall != null) Checkpoint.getInts(b, stall);
+    }
+
+    // Steps until maxIter or until stop fires; returns the reason
+    String run(int maxIter, Termination stop) {
+        while (iter < maxIter) {
+            step();
+            String why = stop.check(this);
+            if (why != null) return why;
+        }
+        return "max iterations reached";
+    }
+
+    // Resolves and copies the neighbourhood best of every particle in block b
+    void gatherBlock(int b) {
+        int start = b * BLOCK, end = Math.min(n, start + BLOCK);
+        topology.localBest(pbestVal, lbest, start, end);
+        for (int i = start; i < end; i++)
+            System.arraycopy(pbest, lbest[i] * dim, nbest, i * dim, dim);
+    }
+
+    void updateBlock(int b) {
+        SplitMix64 rand = streams[b];
+        double[] social = topology == null ? gbest : nbest;
+        double bestVal = Double.MAX_VALUE;
+        int bestIdx = -1;
+        int start = b * BLOCK, end = Math.min(n, start + BLOCK);
+        long reseeded = 0;
+        for (int i = start; i < end; i++) {
+            int off = i * dim, soff = topology == null ? 0 : off;
+            if (stallLimit > 0 && stall[i] >= stallLimit && i != gIdx) {
+                reseed(i, rand);
+                reseeded++;
+                continue;
+            }
+            if (cons == null)
+                VelocityKernel.move(pos, vel, pbest, social, off, soff, dim, w, c1, c2, vmax, lo, hi, rand);
+            else
+                VelocityKernel.moveBounded(pos, vel, pbest, social, off, soff, dim, w, c1, c2, vmax, loV, hiV,
+                        cons.repair, rand);
+        }
+
+        // score the whole block in one call, then update personal bests in place
+        f.evaluate(pos, start, end - start, dim, val);
+        for (int i = start; i < end; i++) {
+            double v = val[i];
+            if (v < pbestVal[i]) {
+                pbestVal[i] = v;
+                System.arraycopy(pos, i * dim, pbest, i * dim, dim);
+                if (stallLimit > 0) stall[i] = 0;
+                if (v < bestVal) {
+                    bestVal = v;
+                    bestIdx = i;
+                }
+            } else if (stallLimit > 0) {
+                stall[i]++;
+            }
+        }
+        blockBestVal[b] = bestVal;
+        blockBestIdx[b] = bestIdx;
+        if (stallLimit > 0) blockRestarts[b] = reseeded;
+    }
+
+    // Fresh random particle; its personal best is taken from the next evaluation
+    void reseed(int i, SplitMix64 rand) {
+        randomParticle(i, rand);
+        pbestVal[i] = Double.MAX_VALUE;
+    }
+
+    // Uniform position in the box, velocity up to a quarter of each side
+    void randomParticle(int i, SplitMix64 rand) {
+        for (int k = 0, d = i * dim; k < dim; k++, d++) {
+            double span = hiV[k] - loV[k];
+            pos[d] = loV[k] + span * rand.nextDouble();
+            vel[d] = (rand.nextDouble() - 0.5) * span * 0.5;
+        }
+    }
+
+    // Splits a range of blocks across the pool (gather phase or update phase)
+    class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int from, to;
+        final boolean gather;
+
+        BlockTask(int from, int to, boolean gather) {
+            this.from = from;
+            this.to = to;
+            this.gather = gather;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (gather) gatherBlock(from);
+                else updateBlock(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(from, mid, gather), new BlockTask(mid, to, gather));
+        }
+    }
+
+    // Steps until maxIter iterations in total, like run(maxIter, stop): a
+    // restored swarm only runs the iterations it has left
+    void run(int maxIter) {
+        while (iter < maxIter) step();
+    }
+
+    double bestValue() {
+        return gVal;
+    }
+
+    // Copies the global best position into out (length >= dim)
+    double[] bestPosition(double[] out) {
+        System.arraycopy(pbest, gIdx * dim, out, 0, dim);
+        return out;
+    }
+
+    static String formatPoint(double[] p) {
+        StringBuilder sb = new StringBuilder("(");
+        int shown = Math.min(p.length, 4);
+        for (int d = 0; d < shown; d++) {
+            if (d > 0) sb.append(", ");
+            sb.append(String.format("%.6f", p[d]));
+        }
+        if (p.length > shown) sb.append(", ... [").append(p.length).append(" dims]");
+        return sb.append(")").toString();
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.Random;
+
+// Compares the structure-of-arrays PSOEngine with the original
+// Particle[] loop from PSO.java at several swarm sizes.
+// Usage: java PSOEngineBench [iterations] [dim]
+public class PSOEngineBench {
+    static final int[] SWARM_SIZES = { 1_000, 10_000, 100_000, 500_000 };
+    static final int WARMUP_ROUNDS = 3;
+    static final int MEASURED_ROUNDS = 5;
+
+    // ---------- Original per-object layout (copied from PSO.java) ----------
+    static class LegacyParticle {
+        double[] pos, vel, bestPos;
+        double bestVal;
+
+        LegacyParticle(int dim, double lo, double hi, Random r) {
+            pos = new double[dim];
+            vel = new double[dim];
+            bestPos = new double[dim];
+            for (int i = 0; i < dim; i++) {
+                pos[i] = lo + (hi - lo) * r.nextDouble();
+                vel[i] = (r.nextDouble() - 0.5) * (hi - lo) * 0.5;
+                bestPos[i] = pos[i];
+            }
+            bestVal = rosenbrock(pos);
+        }
+
+        static double rosenbrock(double[] p) {
+            double s = 0;
+            for (int d = 0; d < p.length - 1; d++)
+                s += Math.pow(1 - p[d], 2) + 100 * Math.pow(p[d + 1] - p[d] * p[d], 2);
+            return s;
+        }
+    }
+
+    static double runLegacy(int swarmSize, int dim, int maxIter, long seed) {
+        final double LO = -5, HI = 5, W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
+        Random rand = new Random(seed);
+        LegacyParticle[] swarm = new LegacyParticle[swarmSize];
+        for (int i = 0; i < swarmSize; i++)
+            swarm[i] = new LegacyParticle(dim, LO, HI, rand);
+
+        double[] gBest = swarm[0].bestPos.clone();
+        double gVal = Double.MAX_VALUE;
+        for (LegacyParticle p : swarm)
+            if (p.bestVal < gVal) {
+                gVal = p.bestVal;
+                gBest = p.bestPos.clone();
+            }
+
+        for (int iter = 0; iter < maxIter; iter++) {
+            for (LegacyParticle p : swarm) {
+                for (int d = 0; d < dim; d++) {
+                    double r1 = rand.nextDouble(), r2 = rand.nextDouble();
+                    p.vel[d] = W * p.vel[d] + C1 * r1 * (p.bestPos[d] - p.pos[d]) + C2 * r2 * (gBest[d] - p.pos[d]);
+                    if (p.vel[d] > VMAX) p.vel[d] = VMAX;
+                    if (p.vel[d] < -VMAX) p.vel[d] = -VMAX;
+                    p.pos[d] += p.vel[d];
+                    if (p.pos[d] < LO) p.pos[d] = LO;
+                    if (p.pos[d] > HI) p.pos[d] = HI;
+                }
+                double val = LegacyParticle.rosenbrock(p.pos);
+                if (val < p.bestVal) {
+                    p.bestVal = val;
+                    p.bestPos = p.pos.clone();
+                }
+                if (p.bestVal < gVal) {
+                    gVal = p.bestVal;
+                    gBest = p.bestPos.clone();
+                }
+            }
+        }
+        return gVal;
+    }
+
+    static double runEngine(int swarmSize, int dim, int maxIter, long seed) {
+        PSOEngine e = PSOEngine.withDefaults(swarmSize, dim, seed);
+        e.run(maxIter);
+        return e.bestValue();
+    }
+
+    // Returns the mean wall time in ms over MEASURED_ROUNDS
+    static double time(boolean engine, int swarmSize, int dim, int maxIter) {
+        double sink = 0;
+        for (int r = 0; r < WARMUP_ROUNDS; r++)
+            sink += engine ? runEngine(swarmSize, dim, maxIter, r) : runLegacy(swarmSize, dim, maxIter, r);
+        long total = 0;
+        for (int r = 0; r < MEASURED_ROUNDS; r++) {
+            long t0 = System.nanoTime();
+            sink += engine ? runEngine(swarmSize, dim, maxIter, 100 + r) : runLegacy(swarmSize, dim, maxIter, 100 + r);
+            total += System.nanoTime() - t0;
+        }
+        if (sink == 42) System.out.print("");
+        return total / 1e6 / MEASURED_ROUNDS;
+    }
+
+    public static void main(String[] args) {
+        int maxIter = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        System.out.println("=== PSO layout benchmark (Rosenbrock) ===");
+        System.out.printf("iterations = %d, dim = %d, rounds = %d (+%d warmup)%n%n",
+                maxIter, dim, MEASURED_ROUNDS, WARMUP_ROUNDS);
+        System.out.printf("%10s | %14s | %14s | %12s | %12s | %7s%n",
+                "swarm", "Particle[] ms", "PSOEngine ms", "old ns/p/it", "new ns/p/it", "speedup");
+        for (int size : SWARM_SIZES) {
+            double legacy = time(false, size, dim, maxIter);
+            double engine = time(true, size, dim, maxIter);
+            double work = (double) size * maxIter;
+            System.out.printf("%10d | %14.2f | %14.2f | %12.2f | %12.2f | %6.2fx%n",
+                    size, legacy, engine, legacy * 1e6 / work, engine * 1e6 / work, legacy / engine);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// Measures how the synchronous PSOEngine scales with thread count and
+// checks that every thread count reproduces the single-threaded result.
+// Usage: java PSOParallelBench [swarm] [dim] [iterations] [seed] [maxThreads]
+public class PSOParallelBench {
+    public static void main(String[] args) {
+        int swarm = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxIter = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 12345L;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : cores;
+
+        System.out.println("=== Parallel PSO scaling (Rosenbrock) ===");
+        System.out.printf("swarm = %d, dim = %d, iterations = %d, seed = %d, cores = %d%n%n",
+                swarm, dim, maxIter, seed, cores);
+
+        // warm up the JIT on a smaller swarm
+        for (int r = 0; r < 3; r++) {
+            PSOEngine e = PSOEngine.withDefaults(Math.min(swarm, 20_000), dim, r).parallel(cores);
+            e.run(maxIter);
+            e.shutdown();
+        }
+
+        System.out.printf("%8s | %10s | %8s | %10s | %s%n", "threads", "ms", "speedup", "efficiency", "best (identical?)");
+        double baseMs = 0, baseBest = 0;
+        for (int t = 1; t <= maxThreads; t = (t < maxThreads && t * 2 > maxThreads) ? maxThreads : t * 2) {
+            PSOEngine e = PSOEngine.withDefaults(swarm, dim, seed).parallel(t);
+            long t0 = System.nanoTime();
+            e.run(maxIter);
+            double ms = (System.nanoTime() - t0) / 1e6;
+            e.shutdown();
+            if (t == 1) {
+                baseMs = ms;
+                baseBest = e.bestValue();
+            }
+            double speedup = baseMs / ms;
+            System.out.printf("%8d | %10.2f | %7.2fx | %9.0f%% | %.12e %s%n",
+                    t, ms, speedup, 100 * speedup / t, e.bestValue(),
+                    e.bestValue() == baseBest ? "(yes)" : "(NO)");
+            if (t == maxThreads) break;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 import java.util.Random;
 import java.util.Scanner;
-import java.util.ArrayList;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 class Particle {
     double[] pos, vel, bestPos;
@@ -21,18 +22,23 @@ class Particle {
     }
 
     static double rosenbrock(double[] p) {
-        double x = p[0], y = p[1];
-        return Math.pow(1 - x, 2) + 100 * Math.pow(y - x * x, 2);
+        return Objectives.ROSENBROCK.value(p);
     }
 }
 
 public class PSO_Graph {
+    // Telemetry sizes: memory stays fixed however long the run is
+    static final int FRAME_CAPACITY = 16;
+    static final int MAX_POINTS = 2000;
+    static final int HISTORY_CAP = 1024;
+
     static class ConvergencePanel extends JPanel {
-        final double[] bestHistory;
+        final TelemetryRing tel;
         final int maxIter;
+        final double[] history = new double[HISTORY_CAP];
 
-        ConvergencePanel(double[] bestHistory, int maxIter) {
-            this.bestHistory = bestHistory;
+        ConvergencePanel(TelemetryRing tel, int maxIter) {
+            this.tel = tel;
             this.maxIter = maxIter;
             setPreferredSize(new Dimension(600, 360));
         }
@@ -42,14 +48,15 @@ public class PSO_Graph {
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             int W = getWidth(), H = getHeight(), m = 50;
+            int len = tel.copyHistory(history), bucket = tel.bucketSize();
             g2.setColor(Color.BLACK);
             g2.drawLine(m, H - m, W - m, H - m);
             g2.drawLine(m, H - m, m, m);
             g2.drawString("Iteration", W / 2 - 30, H - 15);
             g2.drawString("Best f(x)", 10, m - 15);
             double ymin = Double.POSITIVE_INFINITY, ymax = Double.NEGATIVE_INFINITY;
-            for (int i = 0; i < maxIter; i++) {
-                double v = bestHistory[i];
+            for (int i = 0; i < len; i++) {
+                double v = history[i];
                 if (Double.isFinite(v)) {
                     ymin = Math.min(ymin, v);
                     ymax = Math.max(ymax, v);
@@ -75,8 +82,8 @@ public class PSO_Graph {
             g2.setStroke(new BasicStroke(2f));
             g2.setColor(new Color(66, 135, 245));
             int px = -1, py = -1;
-            for (int i = 0; i < maxIter; i++) {
-                double v = bestHistory[i], tx = i / (double) (maxIter - 1), ty = (v - ymin) / (ymax - ymin);
+            for (int i = 0; i < len; i++) {
+                double v = history[i], tx = i * (double) bucket / Math.max(1, maxIter - 1), ty = (v - ymin) / (ymax - ymin);
                 int x = m + (int) Math.round(tx * (W - 2 * m)), y = H - m - (int) Math.round(ty * (H - 2 * m));
                 if (px != -1)
                     g2.drawLine(px, py, x, y);
@@ -88,14 +95,17 @@ public class PSO_Graph {
     }
 
     static class SwarmPanel extends JPanel {
-        final java.util.List<double[][]> frames;
+        final TelemetryRing tel;
         final double lo, hi;
-        int idx = 0;
+        final int maxIter;
+        final double[][] frames = new double[FRAME_CAPACITY][2 * MAX_POINTS];
+        final int[] counts = new int[FRAME_CAPACITY];
 
-        SwarmPanel(java.util.List<double[][]> frames, double lo, double hi) {
-            this.frames = frames;
+        SwarmPanel(TelemetryRing tel, double lo, double hi, int maxIter) {
+            this.tel = tel;
             this.lo = lo;
             this.hi = hi;
+            this.maxIter = maxIter;
             setPreferredSize(new Dimension(600, 360));
         }
 
@@ -110,7 +120,7 @@ public class PSO_Graph {
             g2.rotate(-Math.PI / 2);
             g2.drawString("y", -H / 2, 15);
             g2.rotate(Math.PI / 2);
-            g2.drawString("Swarm positions (replay)", m, m - 15);
+            g2.drawString("Swarm positions (live)", m, m - 15);
             g2.setFont(g2.getFont().deriveFont(12f));
             g2.setColor(new Color(230, 230, 230));
             for (int i = 0; i <= 10; i++) {
@@ -125,54 +135,30 @@ public class PSO_Graph {
                 g2.drawString(String.format("%.1f", v), x - 14, H - m + 18);
                 g2.drawString(String.format("%.1f", v), m - 35, y + 4);
             }
-            if (frames.isEmpty())
+            int held = tel.copyFrames(frames, counts), iter = tel.latestIter();
+            if (held == 0)
                 return;
-            double[][] pts = frames.get(idx);
-            int r = 5;
-            g2.setColor(new Color(66, 135, 245));
-            for (double[] p : pts) {
-                int x = m + (int) Math.round((p[0] - lo) / (hi - lo) * (W - 2 * m)),
-                        y = H - m - (int) Math.round((p[1] - lo) / (hi - lo) * (H - 2 * m));
-                g2.fillOval(x - r, y - r, 2 * r, 2 * r);
+            // older frames as small fading dots, the newest one on top
+            for (int k = 0; k < held; k++) {
+                boolean newest = k == held - 1;
+                int r = newest ? 5 : 2;
+                g2.setColor(newest ? new Color(66, 135, 245) : new Color(66, 135, 245, 20 + 100 * (k + 1) / held));
+                double[] pts = frames[k];
+                for (int i = 0; i < counts[k]; i++) {
+                    int x = m + (int) Math.round((pts[2 * i] - lo) / (hi - lo) * (W - 2 * m)),
+                            y = H - m - (int) Math.round((pts[2 * i + 1] - lo) / (hi - lo) * (H - 2 * m));
+                    g2.fillOval(x - r, y - r, 2 * r, 2 * r);
+                }
             }
             g2.setColor(Color.DARK_GRAY);
-            g2.drawString("Frame: " + (idx + 1) + " / " + frames.size(), W - 150, m - 15);
-        }
-
-        void next() {
-            if (!frames.isEmpty()) {
-                idx = (idx + 1) % frames.size();
-                repaint();
-            }
+            g2.drawString("Iteration: " + (iter + 1) + " / " + maxIter, W - 170, m - 15);
         }
     }
 
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        System.out.print("Swarm size (enter for 30): ");
-        String s = sc.nextLine().trim();
-        int SWARM = s.isEmpty() ? 30 : Integer.parseInt(s);
-        System.out.print("Max iterations (enter for 1000): ");
-        s = sc.nextLine().trim();
-        int MAX_ITER = s.isEmpty() ? 1000 : Integer.parseInt(s);
-
-        final int DIM = 2;
-        final double LO = -5, HI = 5, W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
-
-        // --- Added: print ONLY the pre-declared variables (no logic change) ---
-        System.out.println("\n===== Pre-declared Variables =====");
-        System.out.printf("DIM      = %d%n", DIM);
-        System.out.printf("LO       = %.2f%n", LO);
-        System.out.printf("HI       = %.2f%n", HI);
-        System.out.printf("W        = %.2f%n", W);
-        System.out.printf("C1       = %.2f%n", C1);
-        System.out.printf("C2       = %.2f%n", C2);
-        System.out.printf("VMAX     = %.2f%n", VMAX);
-        System.out.printf("SWARM    = %d%n", SWARM);
-        System.out.printf("MAX_ITER = %d%n", MAX_ITER);
-        System.out.println("==================================\n");
-        // ---------------------------------------------------------------------
-
+    // Runs the optimizer, streaming best values and swarm frames into tel;
+    // stops early when its thread is interrupted (window closed)
+    static void optimize(int SWARM, int MAX_ITER, int DIM, double LO, double HI, double W, double C1, double C2,
+            double VMAX, TelemetryRing tel) {
         Random rand = new Random();
         Particle[] swarm = new Particle[SWARM];
         for (int i = 0; i < SWARM; i++)
@@ -186,12 +172,14 @@ public class PSO_Graph {
                 gBest = p.bestPos.clone();
             }
 
-        double[] bestHistory = new double[MAX_ITER];
-        int frameStride = Math.max(1, MAX_ITER / 200);
-        java.util.List<double[][]> frames = new ArrayList<>();
+        double[] xy = new double[2 * SWARM];
         int progressStep = Math.max(1, MAX_ITER / 10);
 
         for (int iter = 0; iter < MAX_ITER; iter++) {
+            if (Thread.currentThread().isInterrupted()) {
+                System.out.printf("Window closed: stopped after %d iterations%n", iter);
+                break;
+            }
             for (Particle p : swarm) {
                 for (int d = 0; d < DIM; d++) {
                     double r1 = rand.nextDouble(), r2 = rand.nextDouble();
@@ -216,32 +204,74 @@ public class PSO_Graph {
                     gBest = p.bestPos.clone();
                 }
             }
-            bestHistory[iter] = gVal;
-            if (iter % frameStride == 0) {
-                double[][] snapshot = new double[SWARM][2];
-                for (int i = 0; i < SWARM; i++)
-                    snapshot[i] = new double[] { swarm[i].pos[0], swarm[i].pos[1] };
-                frames.add(snapshot);
+            tel.offerBest(gVal);
+            if (tel.wantsFrame(iter)) {
+                for (int i = 0; i < SWARM; i++) {
+                    xy[2 * i] = swarm[i].pos[0];
+                    xy[2 * i + 1] = swarm[i].pos[1];
+                }
+                tel.record(iter, gVal, xy, SWARM);
             }
             if (iter % progressStep == 0)
                 System.out.printf("Iter %4d / %d : best = %.10f at (%.6f, %.6f)%n", iter, MAX_ITER, gVal, gBest[0],
                         gBest[1]);
         }
         System.out.printf("Final best: f(%.6f, %.6f) = %.12f%n", gBest[0], gBest[1], gVal);
+    }
+
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+        System.out.print("Swarm size (enter for 30): ");
+        String s = sc.nextLine().trim();
+        int SWARM = s.isEmpty() ? 30 : Integer.parseInt(s);
+        System.out.print("Max iterations (enter for 1000): ");
+        s = sc.nextLine().trim();
+        int MAX_ITER = s.isEmpty() ? 1000 : Integer.parseInt(s);
+
+        final int DIM = 2;
+        final double LO = -5, HI = 5, W = 0.7, C1 = 1.5, C2 = 1.5, VMAX = (HI - LO) * 0.5;
+
+        // --- Added: print ONLY the pre-declared variables (no logic change) ---
+        System.out.println("\n===== Pre-declared Variables =====");
+        System.out.printf("DIM      = %d%n", DIM);
+        System.out.printf("LO       = %.2f%n", LO);
+        System.out.printf("HI       = %.2f%n", HI);
+        System.out.printf("W        = %.2f%n", W);
+        System.out.printf("C1       = %.2f%n", C1);
+        System.out.printf("C2       = %.2f%n", C2);
+        System.out.printf("VMAX     = %.2f%n", VMAX);
+        System.out.printf("SWARM    = %d%n", SWARM);
+        System.out.printf("MAX_ITER = %d%n", MAX_ITER);
+        System.out.println("==================================\n");
+        // ---------------------------------------------------------------------
         sc.close();
 
+        // frames every ~MAX_ITER/200 iterations, but only the newest FRAME_CAPACITY are kept
+        int frameStride = Math.max(1, MAX_ITER / 200);
+        TelemetryRing tel = new TelemetryRing(FRAME_CAPACITY, MAX_POINTS, HISTORY_CAP,
+                TelemetryRing.Downsample.everyN(frameStride));
+
+        Thread worker = new Thread(() -> optimize(SWARM, MAX_ITER, DIM, LO, HI, W, C1, C2, VMAX, tel), "pso-optimizer");
         SwingUtilities.invokeLater(() -> {
             JTabbedPane tabs = new JTabbedPane();
-            tabs.addTab("Convergence", new ConvergencePanel(bestHistory, bestHistory.length));
-            SwarmPanel sp = new SwarmPanel(frames, LO, HI);
-            tabs.addTab("Swarm Replay", sp);
+            tabs.addTab("Convergence", new ConvergencePanel(tel, MAX_ITER));
+            tabs.addTab("Swarm (live)", new SwarmPanel(tel, LO, HI, MAX_ITER));
             JFrame f = new JFrame("PSO Plots");
             f.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
             f.getContentPane().add(tabs);
             f.pack();
             f.setLocationRelativeTo(null);
             f.setVisible(true);
-            new Timer(80, e -> sp.next()).start();
+            Timer repaint = new Timer(40, e -> tabs.repaint());
+            f.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    repaint.stop();
+                    worker.interrupt();
+                }
+            });
+            repaint.start();
         });
+        worker.start();
     }
 }
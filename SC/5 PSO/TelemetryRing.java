@@ -0,0 +1,135 @@
+// Bounded convergence telemetry fed by a running optimizer.
+//
+// Two fixed-size stores, allocated once:
+//  - a ring of the most recent swarm frames (x/y of up to maxPoints
+//    particles each); old frames are overwritten,
+//  - a best-value history of at most historyCap slots. When it fills up,
+//    neighbouring slots are merged (min of each pair) and every slot then
+//    covers twice as many iterations, so the whole run stays visible.
+// Memory does not depend on swarm size beyond maxPoints, nor on the
+// number of iterations. The optimizer thread writes; the Swing thread
+// copies out what it needs under the same lock: PSO_Graph takes every
+// frame the ring holds and draws the older ones as fading trails.
+public class TelemetryRing {
+    // Decides which iterations are recorded as frames
+    interface Downsample {
+        boolean accept(int iter);
+
+        // one frame every k iterations
+        static Downsample everyN(int k) {
+            int stride = Math.max(1, k);
+            return iter -> iter % stride == 0;
+        }
+
+        // at most one frame per ms milliseconds (good for live rendering)
+        static Downsample everyMillis(long ms) {
+            long[] last = { Long.MIN_VALUE };
+            long gap = ms * 1_000_000L;
+            return iter -> {
+                long now = System.nanoTime();
+                if (last[0] != Long.MIN_VALUE && now - last[0] < gap) return false;
+                last[0] = now;
+                return true;
+            };
+        }
+    }
+
+    final int capacity, maxPoints;
+    final Downsample policy;
+
+    // ---- frame ring ----
+    final int[] frameIter;
+    final double[] frameBest;
+    final int[] frameCount;
+    final double[][] frameXY;   // [capacity][2*maxPoints], x0 y0 x1 y1 ...
+    int head = 0;               // next slot to write
+    int size = 0;
+
+    // ---- compacted best history ----
+    final double[] hist;
+    int histLen = 0;
+    int bucket = 1;             // iterations per history slot
+    int bucketFill = 0;
+    int iterations = 0;
+
+    TelemetryRing(int capacity, int maxPoints, int historyCap, Downsample policy) {
+        if (capacity < 1 || maxPoints < 1 || historyCap < 2)
+            throw new IllegalArgumentException("telemetry sizes too small");
+        this.capacity = capacity;
+        this.maxPoints = maxPoints;
+        this.policy = policy;
+        this.frameIter = new int[capacity];
+        this.frameBest = new double[capacity];
+        this.frameCount = new int[capacity];
+        this.frameXY = new double[capacity][2 * maxPoints];
+        this.hist = new double[historyCap & ~1];
+    }
+
+    // Called once per iteration with the current best value
+    synchronized void offerBest(double best) {
+        iterations++;
+        if (bucketFill == 0) {
+            if (histLen == hist.length) compact();
+            hist[histLen++] = best;
+        } else if (best < hist[histLen - 1]) {
+            hist[histLen - 1] = best;
+        }
+        if (++bucketFill == bucket) bucketFill = 0;
+    }
+
+    private void compact() {
+        for (int i = 0; i < histLen / 2; i++)
+            hist[i] = Math.min(hist[2 * i], hist[2 * i + 1]);
+        histLen /= 2;
+        bucket *= 2;
+    }
+
+    boolean wantsFrame(int iter) {
+        return policy.accept(iter);
+    }
+
+    // Stores n interleaved x/y points (subsampled down to maxPoints)
+    synchronized void record(int iter, double best, double[] xy, int n) {
+        double[] dst = frameXY[head];
+        int step = Math.max(1, (n + maxPoints - 1) / maxPoints);
+        int m = 0;
+        for (int i = 0; i < n && m < maxPoints; i += step, m++) {
+            dst[2 * m] = xy[2 * i];
+            dst[2 * m + 1] = xy[2 * i + 1];
+        }
+        frameIter[head] = iter;
+        frameBest[head] = best;
+        frameCount[head] = m;
+        head = (head + 1) % capacity;
+        if (size < capacity) size++;
+    }
+
+    // Copies the frames held, oldest first, into out[0 .. size) (each of
+    // length >= 2*maxPoints) with their point counts in counts; returns how
+    // many there are (0 before the first frame)
+    synchronized int copyFrames(double[][] out, int[] counts) {
+        for (int k = 0, slot = (head - size + capacity) % capacity; k < size; k++, slot = (slot + 1) % capacity) {
+            System.arraycopy(frameXY[slot], 0, out[k], 0, 2 * frameCount[slot]);
+            counts[k] = frameCount[slot];
+        }
+        return size;
+    }
+
+    synchronized int latestIter() {
+        return size == 0 ? -1 : frameIter[(head - 1 + capacity) % capacity];
+    }
+
+    // Copies the best history into out (length >= historyCap); returns its length
+    synchronized int copyHistory(double[] out) {
+        System.arraycopy(hist, 0, out, 0, histLen);
+        return histLen;
+    }
+
+    synchronized int bucketSize() {
+        return bucket;
+    }
+
+    synchronized int iterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,74 @@
+// Stopping rules for a PSOEngine run, checked once per iteration.
+// Any enabled rule can end the run:
+//  - target:    best value <= target
+//  - stagnation: relative improvement of the best value over the last
+//               `window` iterations is below relTol
+//  - diameter:  largest per-dimension spread of the swarm is below eps
+// A Termination holds per-run state; use a fresh one for each run.
+public class Termination {
+    double target = Double.NEGATIVE_INFINITY;
+    int window = 0;
+    double relTol = 0;
+    double diameterEps = 0;
+
+    double[] recent;   // ring of the last `window` best values
+    int seen = 0;
+
+    Termination target(double t) {
+        target = t;
+        return this;
+    }
+
+    Termination stagnation(int window, double relTol) {
+        this.window = window;
+        this.relTol = relTol;
+        this.recent = window > 0 ? new double[window] : null;
+        this.seen = 0;
+        return this;
+    }
+
+    Termination diameter(double eps) {
+        diameterEps = eps;
+        return this;
+    }
+
+    // Returns why the run should stop, or null to keep going
+    String check(PSOEngine e) {
+        double best = e.bestValue();
+        if (best <= target)
+            return String.format("target %.3e reached", target);
+
+        if (window > 0) {
+            int slot = seen % window;
+            double old = recent[slot];
+            recent[slot] = best;
+            if (++seen > window) {
+                double gain = (old - best) / Math.max(Math.abs(old), Double.MIN_NORMAL);
+                if (gain < relTol)
+                    return String.format("relative improvement %.3e over %d iterations", gain, window);
+            }
+        }
+
+        if (diameterEps > 0) {
+            double diam = diameter(e);
+            if (diam < diameterEps)
+                return String.format("swarm diameter %.3e below %.3e", diam, diameterEps);
+        }
+        return null;
+    }
+
+    // Largest (max - min) over the dimensions of the current positions
+    static double diameter(PSOEngine e) {
+        double worst = 0;
+        for (int k = 0; k < e.dim; k++) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int d = k; d < e.pos.length; d += e.dim) {
+                double v = e.pos[d];
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            worst = Math.max(worst, max - min);
+        }
+        return worst;
+    }
+}
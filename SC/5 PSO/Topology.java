@@ -0,0 +1,112 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// PSO neighbourhood graph in compressed-row form.
+// The neighbours of particle i are nbr[start[i] .. start[i+1]) and always
+// include i itself, so a particle's local best is never worse than its own
+// personal best. The index is built once and only read while iterating.
+public class Topology {
+    final String name;
+    final int n;
+    final int[] start;  // [n+1]
+    final int[] nbr;
+
+    Topology(String name, int n, int[] start, int[] nbr) {
+        this.name = name;
+        this.n = n;
+        this.start = start;
+        this.nbr = nbr;
+    }
+
+    // i-k .. i+k on a circle
+    static Topology ring(int n, int k) {
+        int deg = Math.min(n, 2 * k + 1);
+        int[] start = new int[n + 1];
+        int[] nbr = new int[n * deg];
+        for (int i = 0; i < n; i++) {
+            start[i] = i * deg;
+            nbr[i * deg] = i;
+            for (int j = 1, c = 1; c < deg; j++) {
+                nbr[i * deg + c++] = Math.floorMod(i - j, n);
+                if (c < deg) nbr[i * deg + c++] = Math.floorMod(i + j, n);
+            }
+        }
+        start[n] = n * deg;
+        return new Topology("ring-" + k, n, start, nbr);
+    }
+
+    // self + north/south/east/west on a near-square torus
+    static Topology vonNeumann(int n) {
+        int cols = (int) Math.ceil(Math.sqrt(n));
+        int rows = (n + cols - 1) / cols;
+        int[] start = new int[n + 1];
+        int[] buf = new int[n * 5];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            start[i] = m;
+            int r = i / cols, c = i % cols;
+            buf[m++] = i;
+            int[] cand = {
+                ((r + rows - 1) % rows) * cols + c,
+                ((r + 1) % rows) * cols + c,
+                r * cols + (c + cols - 1) % cols,
+                r * cols + (c + 1) % cols
+            };
+            for (int j : cand) {
+                // wrap cells that fall into the unused tail of the last row
+                if (j >= n) j = j % cols;
+                boolean dup = false;
+                for (int q = start[i]; q < m; q++) dup |= buf[q] == j;
+                if (!dup) buf[m++] = j;
+            }
+        }
+        start[n] = m;
+        return new Topology("von-neumann", n, start, Arrays.copyOf(buf, m));
+    }
+
+    // self + k informants drawn uniformly (with a fixed seed)
+    static Topology randomK(int n, int k, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        int deg = 1 + Math.min(k, n - 1);
+        int[] start = new int[n + 1];
+        int[] nbr = new int[n * deg];
+        for (int i = 0; i < n; i++) {
+            int base = i * deg;
+            start[i] = base;
+            nbr[base] = i;
+            for (int c = 1; c < deg; ) {
+                int j = rand.nextInt(n);
+                boolean dup = false;
+                for (int q = base; q < base + c; q++) dup |= nbr[q] == j;
+                if (!dup) nbr[base + c++] = j;
+            }
+        }
+        start[n] = n * deg;
+        return new Topology("random-" + k, n, start, nbr);
+    }
+
+    // Writes the best neighbour of each particle in [from, to) into lbest
+    void localBest(double[] pbestVal, int[] lbest, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int best = nbr[start[i]];
+            for (int q = start[i] + 1; q < start[i + 1]; q++)
+                if (pbestVal[nbr[q]] < pbestVal[best]) best = nbr[q];
+            lbest[i] = best;
+        }
+    }
+
+    // "gbest", "ring[-k]", "vonneumann", "random[-k]"
+    static Topology byName(String name, int n, long seed) {
+        String s = name.trim().toLowerCase();
+        int dash = s.indexOf('-');
+        int k = dash > 0 ? Integer.parseInt(s.substring(dash + 1)) : -1;
+        String base = dash > 0 ? s.substring(0, dash) : s;
+        switch (base) {
+            case "gbest":      return null;
+            case "ring":       return ring(n, k > 0 ? k : 1);
+            case "vonneumann": return vonNeumann(n);
+            case "random":     return randomK(n, k > 0 ? k : 3, seed);
+            default: throw new IllegalArgumentException("unknown topology: " + name);
+        }
+    }
+}
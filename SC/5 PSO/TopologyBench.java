@@ -0,0 +1,50 @@
+// Time-to-target for global-best vs lbest topologies.
+// Default setup is the one in PSO.java: 2-D Rosenbrock on [-5, 5],
+// W = 0.7, C1 = C2 = 1.5, swarm 30, up to 1000 iterations.
+// Usage: java TopologyBench [objective] [dim] [swarm] [maxIter] [target] [runs]
+public class TopologyBench {
+    public static void main(String[] args) {
+        Objective f = args.length > 0 ? Objectives.byName(args[0]) : Objectives.ROSENBROCK;
+        int dim = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int swarm = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int maxIter = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+        double target = args.length > 4 ? Double.parseDouble(args[4]) : 1e-8;
+        int runs = args.length > 5 ? Integer.parseInt(args[5]) : 50;
+        String[] topologies = { "gbest", "ring-1", "ring-2", "vonneumann", "random-3" };
+
+        System.out.println("=== PSO topology benchmark ===");
+        System.out.printf("f = %s, dim = %d, swarm = %d, maxIter = %d, target = %.1e, runs = %d%n%n",
+                f.name(), dim, swarm, maxIter, target, runs);
+
+        // warm up every code path once
+        for (String t : topologies) {
+            PSOEngine e = PSOEngine.withDefaults(f, swarm, dim, -1).topology(Topology.byName(t, swarm, -1));
+            e.run(maxIter);
+        }
+
+        System.out.printf("%-11s | %7s | %10s | %10s | %14s%n", "topology", "hits", "mean iter", "mean ms", "median best");
+        for (String t : topologies) {
+            int hits = 0;
+            long iterSum = 0;
+            double msSum = 0;
+            double[] finals = new double[runs];
+            for (int r = 0; r < runs; r++) {
+                PSOEngine e = PSOEngine.withDefaults(f, swarm, dim, r).topology(Topology.byName(t, swarm, r));
+                long t0 = System.nanoTime();
+                while (e.iter < maxIter && e.bestValue() > target) e.step();
+                double ms = (System.nanoTime() - t0) / 1e6;
+                finals[r] = e.bestValue();
+                if (e.bestValue() <= target) {
+                    hits++;
+                    iterSum += e.iter;
+                    msSum += ms;
+                }
+            }
+            java.util.Arrays.sort(finals);
+            System.out.printf("%-11s | %3d/%-3d | %10s | %10s | %14.6e%n", t, hits, runs,
+                    hits > 0 ? String.format("%.1f", iterSum / (double) hits) : "-",
+                    hits > 0 ? String.format("%.3f", msSum / hits) : "-",
+                    finals[runs / 2]);
+        }
+    }
+}
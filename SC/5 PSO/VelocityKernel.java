@@ -0,0 +1,57 @@
+// Allocation-free PSO move for one particle.
+// Velocity and position clamps use Math.min/Math.max, which the JIT turns
+// into branch-free min/max instructions. Both cognitive and social random
+// factors come from a single 64-bit draw (32 bits each), which halves RNG
+// work compared with two nextDouble() calls per dimension.
+final class VelocityKernel {
+    private VelocityKernel() {
+    }
+
+    // Moves the particle at pos[off .. off+dim) towards its own best and the
+    // social best social[soff .. soff+dim)
+    static void move(double[] pos, double[] vel, double[] pbest, double[] social, int off, int soff, int dim,
+            double w, double c1, double c2, double vmax, double lo, double hi, SplitMix64 rng) {
+        for (int k = 0; k < dim; k++) {
+            int d = off + k;
+            long z = rng.nextLong();
+            double p = pos[d];
+            double v = w * vel[d] + c1 * SplitMix64.hi(z) * (pbest[d] - p) + c2 * SplitMix64.lo(z) * (social[soff + k] - p);
+            v = Math.max(-vmax, Math.min(vmax, v));
+            vel[d] = v;
+            pos[d] = Math.max(lo, Math.min(hi, p + v));
+        }
+    }
+
+    // Same move with per-dimension bounds and a repair rule (see Constraints.Repair)
+    static void moveBounded(double[] pos, double[] vel, double[] pbest, double[] social, int off, int soff, int dim,
+            double w, double c1, double c2, double vmax, double[] lo, double[] hi, Constraints.Repair repair,
+            SplitMix64 rng) {
+        for (int k = 0; k < dim; k++) {
+            int d = off + k;
+            long z = rng.nextLong();
+            double p = pos[d];
+            double v = w * vel[d] + c1 * SplitMix64.hi(z) * (pbest[d] - p) + c2 * SplitMix64.lo(z) * (social[soff + k] - p);
+            v = Math.max(-vmax, Math.min(vmax, v));
+            p += v;
+            if (p < lo[k] || p > hi[k]) {
+                switch (repair) {
+                    case PENALTY:
+                        break;
+                    case CLAMP:
+                        p = Math.max(lo[k], Math.min(hi[k], p));
+                        break;
+                    case REFLECT:
+                        p = p < lo[k] ? 2 * lo[k] - p : 2 * hi[k] - p;
+                        p = Math.max(lo[k], Math.min(hi[k], p));
+                        v = -v;
+                        break;
+                    case REINIT:
+                        p = lo[k] + (hi[k] - lo[k]) * rng.nextDouble();
+                        break;
+                }
+            }
+            vel[d] = v;
+            pos[d] = p;
+        }
+    }
+}
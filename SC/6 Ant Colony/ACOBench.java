@@ -0,0 +1,63 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ACOEngine on TSPLIB instances given on the command line, or on uniform
+// random instances of 52, 100 and 1002 cities (the sizes of berlin52,
+// kroA100 and pr1002) when none are given. TSPLIB files are not shipped
+// with the repository; download them from the TSPLIB site. For instances
+// with a known optimum the gap to it is printed.
+// Usage: java ACOBench [--iter N] [--ants M] [--seed S] [file.tsp ...]
+public class ACOBench {
+    // Published optimal tour lengths (TSPLIB)
+    static final Map<String, Double> OPTIMA = new HashMap<>();
+    static {
+        String[] known = {
+            "burma14 3323", "ulysses16 6859", "ulysses22 7013", "bays29 2020", "att48 10628", "eil51 426",
+            "berlin52 7542", "st70 675", "eil76 538", "pr76 108159", "gr96 55209", "rat99 1211", "kroA100 21282",
+            "kroB100 22141", "kroC100 20749", "kroD100 21294", "kroE100 22068", "eil101 629", "lin105 14379",
+            "ch130 6110", "ch150 6528", "d198 15780", "a280 2579", "lin318 42029", "pcb442 50778", "att532 27686",
+            "pr1002 259045", "pr2392 378032", "pcb3038 137694", "fnl4461 182566", "usa13509 19982859"
+        };
+        for (String s : known) {
+            String[] kv = s.split(" ");
+            OPTIMA.put(kv[0], Double.parseDouble(kv[1]));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int iterations = 100, ants = 25;
+        long seed = 1;
+        List<TSPInstance> instances = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iter": iterations = Integer.parseInt(args[++i]); break;
+                case "--ants": ants = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: instances.add(TSPInstance.load(Paths.get(args[i])));
+            }
+        }
+        if (instances.isEmpty()) {
+            for (int n : new int[] { 52, 100, 1002 }) instances.add(TSPInstance.random(n, 42));
+        }
+
+        System.out.println("=== ACOEngine (Ant System) ===");
+        System.out.printf("iterations = %d, ants = %d, seed = %d%n%n", iterations, ants, seed);
+        System.out.printf("%-14s %6s %-8s %-9s | %12s | %12s %6s | %8s | %9s%n", "instance", "n", "metric",
+                "distances", "nn tour", "best", "iter", "gap", "ms/iter");
+
+        for (TSPInstance tsp : instances) {
+            ACOEngine e = new ACOEngine(tsp, ants, seed);
+            long t0 = System.nanoTime();
+            e.run(iterations);
+            double ms = (System.nanoTime() - t0) / 1e6 / iterations;
+            Double opt = OPTIMA.get(tsp.name);
+            System.out.printf("%-14s %6d %-8s %-9s | %12.0f | %12.0f %6d | %8s | %9.2f%n", tsp.name, tsp.n,
+                    tsp.metric, tsp.dist != null ? "matrix" : "on demand", e.ants / e.tau0, e.bestLength,
+                    e.bestIter, opt == null ? "-" : String.format("%.2f%%", 100 * (e.bestLength / opt - 1)), ms);
+        }
+    }
+}
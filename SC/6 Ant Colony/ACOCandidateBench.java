@@ -0,0 +1,81 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Full-scan tour construction against k-nearest-neighbour candidate lists
+// in ACOEngine (same seed and parameters). Reports the time per iteration,
+// the speedup over the full scan, the best tour after the iterations and
+// the share of construction steps that had to fall back to a full scan.
+// Also runs the engine on a 100000-city instance (candidate lists only:
+// the pheromone is kept per candidate edge) and times building the lists,
+// the first iteration (which includes the nearest-neighbour tour for
+// tau0) and a second one.
+// Instances: TSPLIB files given on the command line, otherwise uniform
+// random instances of 1002 and 3000 cities.
+// Usage: java ACOCandidateBench [--iter N] [--ants M] [--k a,b,..] [file.tsp ...]
+public class ACOCandidateBench {
+    public static void main(String[] args) throws IOException {
+        int iterations = 20, ants = 25;
+        int[] ks = { 0, 10, 20 };
+        List<TSPInstance> instances = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iter": iterations = Integer.parseInt(args[++i]); break;
+                case "--ants": ants = Integer.parseInt(args[++i]); break;
+                case "--k": {
+                    String[] parts = args[++i].split(",");
+                    ks = new int[parts.length + 1];
+                    for (int j = 0; j < parts.length; j++) ks[j + 1] = Integer.parseInt(parts[j]);
+                    break;
+                }
+                default: instances.add(TSPInstance.load(Paths.get(args[i])));
+            }
+        }
+        if (instances.isEmpty()) {
+            instances.add(TSPInstance.random(1002, 42));
+            instances.add(TSPInstance.random(3000, 42));
+        }
+
+        System.out.println("=== ACO tour construction: full scan vs candidate lists ===");
+        System.out.printf("iterations = %d, ants = %d%n%n", iterations, ants);
+        System.out.printf("%-14s %6s | %-7s | %10s | %8s | %10s | %10s%n", "instance", "n", "lists", "ms/iter",
+                "speedup", "best", "fallback");
+
+        for (TSPInstance tsp : instances) {
+            double full = 0;
+            for (int k : ks) {
+                ACOEngine e = new ACOEngine(tsp, ants, 1);
+                if (k > 0) e.candidates(k);
+                e.step(); // warm-up iteration (also sets tau0)
+                long t0 = System.nanoTime();
+                e.run(iterations - 1);
+                double ms = (System.nanoTime() - t0) / 1e6 / Math.max(1, iterations - 1);
+                if (k == 0) full = ms;
+                double steps = (double) e.iter * ants * (tsp.n - 1);
+                System.out.printf("%-14s %6d | %-7s | %10.2f | %7.1fx | %10.0f | %9.3f%%%n", tsp.name, tsp.n,
+                        k == 0 ? "full" : "k=" + k, ms, full / ms, e.bestLength,
+                        k == 0 ? 0.0 : 100.0 * e.fallbacks() / steps);
+            }
+        }
+
+        TSPInstance big = TSPInstance.random(100_000, 42);
+        int bigAnts = 4, bigK = 10;
+        long t0 = System.nanoTime();
+        ACOEngine e = new ACOEngine(big, bigAnts, 1).candidates(bigK);
+        double lists = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        e.step();
+        double first = (System.nanoTime() - t0) / 1e6;
+        double afterFirst = e.bestLength;
+        t0 = System.nanoTime();
+        e.step();
+        double second = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("%n%s: %d cities, %d ants, k = %d, pheromone %.0f MB%n", big.name, big.n, bigAnts, bigK,
+                8.0 * e.tau.length / 1e6);
+        System.out.printf("  %d-nearest-neighbour lists (grid search): %8.0f ms%n", bigK, lists);
+        System.out.printf("  iteration 1 (with tau0 tour):          %8.0f ms, best = %.0f%n", first, afterFirst);
+        System.out.printf("  iteration 2:                           %8.0f ms, best = %.0f, fallback %.3f%%%n", second,
+                e.bestLength, 100.0 * e.fallbacks() / (2.0 * bigAnts * (big.n - 1)));
+    }
+}
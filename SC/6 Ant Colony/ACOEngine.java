@@ -0,0 +1,566 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Ant colony optimization for TSPInstance, sized for TSPLIB instances
+// instead of the 4x4 COST of AntColony.
+// One iteration:
+//   1) construct: every ant starts at a random city and repeatedly picks
+//      the next one by roulette over the unvisited cities with weight
+//      tau(i,j)^alpha * (1/d(i,j))^beta
+//   2) update:    the Strategy evaporates and deposits pheromone
+// L_nn below is the length of the greedy nearest-neighbour tour.
+//
+// The pheromone rules are pluggable (see ACOVariantBench):
+//   AS     - Ant System: tau0 = ants / L_nn; evaporate every edge, every
+//            ant deposits q / L
+//   mmas() - MAX-MIN Ant System: only the iteration-best ant deposits
+//            (the global best every `globalEvery` iterations), tau is kept
+//            in [tauMin, tauMax] derived from the best tour, starts at
+//            tauMax, and is reset to tauMax when the best tour has not
+//            improved for `restartAfter` iterations
+//   acs()  - Ant Colony System: with probability q0 an ant takes the best
+//            edge outright instead of the roulette; every edge it used
+//            decays towards tau0 = 1 / (n * L_nn) (local update) and only
+//            the global-best tour is evaporated and reinforced
+// Recommended settings differ: AS rho 0.5; MMAS rho 0.02 for long runs,
+// 0.2 for a few hundred iterations; ACS rho 0.1, ants 10. All of them want
+// candidate lists on large instances.
+//
+// The roulette weights tau^alpha * eta^beta are not computed while ants
+// walk: they sit in a choice-info table `info` next to tau, so a step is
+// table lookups. Evaporation scales every tau by (1 - rho), which scales
+// every weight by (1 - rho)^alpha, one multiply per edge; after the
+// deposits only the edges on this iteration's tours are recomputed with
+// Math.pow.
+//
+// Memory is flat and primitive: tours are one ants*n array (ant k at
+// tours[k*n ..]) and the unvisited cities of an ant being built are kept
+// packed at the front of its `open`, so a step scans only what is left.
+// Distances come from TSPInstance (a flat matrix, or computed on demand
+// for large instances).
+//
+// With candidates(k), an ant only weighs the k nearest neighbours of its
+// city that are still unvisited. Once every candidate has been visited it
+// moves to the nearest unvisited city (as ACOTSP does), which is the only
+// O(n) step left; the rest of the tour costs O(k) per step (see
+// ACOCandidateBench). The nearest-neighbour tour for tau0 uses the same
+// lists.
+//
+// Pheromone and choice info are laid out by the first step:
+//   full scan  - two symmetric n*n arrays (row i at tau[i*n ..]): 16 MB at
+//                1000 cities, 1.6 GB at 10000, and a Java array stops at
+//                n = 46340
+//   candidates - one value per candidate edge, n*k each (city i's c-th
+//                neighbour at tau[i*k + c]): 32 MB at 100000 cities,
+//                k = 20. Edges off the lists hold no pheromone, and
+//                deposits on them (fallback steps) are dropped. An edge on
+//                only one of the two lists keeps its pheromone in that
+//                direction only.
+//
+// Construction only reads tau and info, and every ant owns its scratch
+// buffers and a SplitMix64 stream split from the seed, so with parallel()
+// the ants of an iteration are built concurrently on a ForkJoinPool. The
+// best tour is then picked and the pheromone evaporated and deposited on
+// the calling thread in ant order, so a seed gives the same run for any
+// thread count.
+public class ACOEngine {
+    static final int PHEROMONE_LIMIT = 46340; // largest n with n*n < 2^31 (full scan)
+
+    final TSPInstance tsp;
+    final int n, ants;
+    double alpha = 1, beta = 2, rho = 0.5, q = 1;
+
+    double[] tau;               // [n*n] pheromone, symmetric, or [n*k] per candidate edge
+    double[] info;              // tau^alpha * eta^beta, same layout, kept in step with tau
+    double tau0;
+    final int[] tours;          // [ants*n] tour of ant k at tours[k*n ..]
+    final double[] lengths;     // [ants]
+    final int[] bestTour;       // [n]
+    double bestLength = Double.MAX_VALUE;
+    int bestIter = -1;
+    double iterationBest;       // shortest tour of the last iteration
+    int iter = 0;
+    boolean started = false;
+
+    Strategy strategy = Strategy.AS;
+    double q0 = 0;              // pseudo-random proportional rule: P(take the best edge)
+
+    final Ant[] colony;         // [ants] per-ant RNG stream and scratch
+    int[] cand;                 // [n*k] candidate lists (TSPInstance.neighbours), or null
+    int k;
+    ForkJoinPool pool;          // null -> ants are built on the calling thread
+
+    ACOEngine(TSPInstance tsp, int ants, long seed) {
+        if (tsp.n < 3 || ants < 1) throw new IllegalArgumentException("need at least 3 cities and 1 ant");
+        this.tsp = tsp;
+        this.n = tsp.n;
+        this.ants = ants;
+        this.tours = new int[ants * n];
+        this.lengths = new double[ants];
+        this.bestTour = new int[n];
+        this.colony = new Ant[ants];
+        SplitMix64 master = new SplitMix64(seed);
+        for (int a = 0; a < ants; a++)
+            colony[a] = new Ant(master.split());
+    }
+
+    // Pheromone rules; only before the first step
+    ACOEngine strategy(Strategy s) {
+        if (started) throw new IllegalStateException("colony already started");
+        strategy = s;
+        return this;
+    }
+
+    // Restricts each step to the k nearest neighbours of the current city
+    // (0 = full scan); only before the first step
+    ACOEngine candidates(int k) {
+        if (started) throw new IllegalStateException("colony already started");
+        this.k = Math.min(k, n - 1);
+        this.cand = k > 0 ? tsp.neighbours(this.k) : null;
+        for (Ant a : colony) a.choice = new int[Math.max(this.k, 1)];
+        return this;
+    }
+
+    ACOEngine parallel(int threads) {
+        shutdown();
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        return this;
+    }
+
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+
+    // Pheromone and heuristic exponents and evaporation rate
+    ACOEngine parameters(double alpha, double beta, double rho) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.rho = rho;
+        if (started) refreshAll();
+        return this;
+    }
+
+    // Pheromone added per unit of 1 / L
+    ACOEngine deposit(double q) {
+        this.q = q;
+        return this;
+    }
+
+    // Allocates the pheromone tables and lets the strategy set the initial
+    // pheromone from the nearest-neighbour tour; called by the first step
+    void init() {
+        if (cand == null && n > PHEROMONE_LIMIT)
+            throw new IllegalStateException(n + " cities: full-scan pheromone is limited to " + PHEROMONE_LIMIT
+                    + " cities, use candidates(k)");
+        int edges = cand == null ? n * n : n * k;
+        tau = new double[edges];
+        info = new double[edges];
+        strategy.init(this, Math.max(colony[0].nearestNeighbourLength(0), 1e-10));
+        started = true;
+    }
+
+    // Sets every edge to t
+    void fill(double t) {
+        java.util.Arrays.fill(tau, t);
+        refreshAll();
+    }
+
+    // One construct / update iteration
+    void step() {
+        if (!started) init();
+        if (pool == null) {
+            for (int k = 0; k < ants; k++) lengths[k] = colony[k].construct(k);
+        } else {
+            pool.invoke(new AntTask(0, ants));
+        }
+
+        iterationBest = Double.MAX_VALUE;
+        for (int k = 0; k < ants; k++) {
+            if (lengths[k] < iterationBest) iterationBest = lengths[k];
+            if (lengths[k] < bestLength) {
+                bestLength = lengths[k];
+                bestIter = iter;
+                System.arraycopy(tours, k * n, bestTour, 0, n);
+            }
+        }
+        strategy.update(this);
+        iter++;
+    }
+
+    void run(int iterations) {
+        for (int i = 0; i < iterations; i++) step();
+    }
+
+    // Heuristic desirability of an edge of length d (duplicate cities have d = 0)
+    static double eta(double d) {
+        return 1.0 / (d + 1e-10);
+    }
+
+    void evaporate() {
+        evaporate(0);
+    }
+
+    // tau *= (1 - rho) on every edge, but never below floor. An edge that
+    // drops to the floor is recomputed once; after that it stays at the
+    // floor and its choice info is left alone.
+    void evaporate(double floor) {
+        double keep = 1 - rho, scale = Math.pow(keep, alpha);
+        for (int e = 0; e < tau.length; e++) {
+            double t = tau[e] * keep;
+            if (t >= floor) {
+                tau[e] = t;
+                info[e] *= scale;
+            } else if (tau[e] != floor) {
+                tau[e] = floor;
+                refresh(e);
+            }
+        }
+    }
+
+    // Slot of edge (i, j) in tau and info: i*n + j, or with candidates the
+    // position of j in i's list, -1 if j is not on it
+    int slot(int i, int j) {
+        if (cand == null) return i * n + j;
+        for (int c = i * k, end = c + k; c < end; c++)
+            if (cand[c] == j) return c;
+        return -1;
+    }
+
+    // tau = keep * tau + add on both directions of every edge of the tour
+    // at t[off ..], capped at ceiling, with the choice info refreshed
+    void blend(int[] t, int off, double keep, double add, double ceiling) {
+        int prev = t[off + n - 1];
+        for (int s = off, end = off + n; s < end; s++) {
+            int c = t[s], a = slot(prev, c), b = slot(c, prev);
+            if (a >= 0 || b >= 0) {
+                double v = Math.min(ceiling, keep * tau[a >= 0 ? a : b] + add);
+                if (a >= 0) {
+                    tau[a] = v;
+                    refresh(a);
+                }
+                if (b >= 0) {
+                    tau[b] = v;
+                    refresh(b);
+                }
+            }
+            prev = c;
+        }
+    }
+
+    // Recomputes the choice info of slot e
+    void refresh(int e) {
+        int i = cand == null ? e / n : e / k, j = cand == null ? e % n : cand[e];
+        info[e] = Math.pow(tau[e], alpha) * Math.pow(eta(tsp.dist(i, j)), beta);
+    }
+
+    // ... of both directions of every edge of the tour at t[off ..]
+    void refresh(int[] t, int off) {
+        int prev = t[off + n - 1];
+        for (int s = off, end = off + n; s < end; s++) {
+            int a = slot(prev, t[s]), b = slot(t[s], prev);
+            if (a >= 0) refresh(a);
+            if (b >= 0) refresh(b);
+            prev = t[s];
+        }
+    }
+
+    // ... of every slot
+    void refreshAll() {
+        for (int e = 0; e < info.length; e++) refresh(e);
+    }
+
+    // Adds amount to both directions of every edge of the tour at t[off ..]
+    // that has a slot (the choice info is refreshed separately, once all
+    // ants deposited)
+    void deposit(int[] t, int off, double amount) {
+        int prev = t[off + n - 1];
+        for (int s = off, end = off + n; s < end; s++) {
+            int c = t[s], a = slot(prev, c), b = slot(c, prev);
+            if (a >= 0) tau[a] += amount;
+            if (b >= 0) tau[b] += amount;
+            prev = c;
+        }
+    }
+
+    // Initial pheromone and pheromone update of an ACO variant
+    interface Strategy {
+        // Sets tau0 and the starting pheromone; lnn = nearest-neighbour tour length
+        void init(ACOEngine e, double lnn);
+
+        // Updates the pheromone after the ants of an iteration are built
+        // (tours, lengths and the best tours are current)
+        void update(ACOEngine e);
+
+        Strategy AS = new Strategy() {
+            public void init(ACOEngine e, double lnn) {
+                e.tau0 = e.ants / lnn;
+                e.fill(e.tau0);
+            }
+
+            public void update(ACOEngine e) {
+                e.evaporate();
+                for (int k = 0; k < e.ants; k++) e.deposit(e.tours, k * e.n, e.q / e.lengths[k]);
+                for (int k = 0; k < e.ants; k++) e.refresh(e.tours, k * e.n);
+            }
+        };
+
+        static MaxMin mmas() {
+            return new MaxMin();
+        }
+
+        static ColonySystem acs() {
+            return new ColonySystem();
+        }
+    }
+
+    // MAX-MIN Ant System (Stuetzle & Hoos 2000)
+    static class MaxMin implements Strategy {
+        double pBest = 0.05;    // chance of rebuilding the best tour at convergence; sets tauMin
+        int globalEvery = 5;    // every how many iterations the global best deposits instead
+        int restartAfter = 250; // iterations without improvement before tau is reset
+        double tauMin, tauMax;
+        int lastRestart = 0;
+        int restarts = 0;
+
+        MaxMin schedule(int globalEvery, int restartAfter) {
+            this.globalEvery = Math.max(1, globalEvery);
+            this.restartAfter = restartAfter;
+            return this;
+        }
+
+        public void init(ACOEngine e, double lnn) {
+            bounds(e, lnn);
+            e.tau0 = tauMax;
+            e.fill(tauMax);
+        }
+
+        // tauMax = 1 / (rho * L); tauMin so that an ant at convergence
+        // rebuilds the best tour with probability pBest
+        void bounds(ACOEngine e, double length) {
+            tauMax = 1 / (e.rho * length);
+            double root = Math.pow(pBest, 1.0 / e.n), avg = e.n / 2.0;
+            tauMin = Math.min(tauMax, tauMax * (1 - root) / ((avg - 1) * root));
+        }
+
+        public void update(ACOEngine e) {
+            bounds(e, e.bestLength);
+            if (e.iter - Math.max(e.bestIter, lastRestart) >= restartAfter) {
+                e.fill(tauMax);
+                lastRestart = e.iter;
+                restarts++;
+                return;
+            }
+            e.evaporate(tauMin);
+            if ((e.iter + 1) % globalEvery == 0) {
+                e.blend(e.bestTour, 0, 1, 1 / e.bestLength, tauMax);
+            } else {
+                int best = 0;
+                for (int k = 1; k < e.ants; k++)
+                    if (e.lengths[k] < e.lengths[best]) best = k;
+                e.blend(e.tours, best * e.n, 1, 1 / e.lengths[best], tauMax);
+            }
+        }
+    }
+
+    // Ant Colony System (Dorigo & Gambardella 1997). The local update is
+    // applied after construction, ant by ant in order, rather than while the
+    // ants walk: the ants of one iteration are built concurrently and must
+    // not see each other's changes. Later iterations see them as usual.
+    static class ColonySystem implements Strategy {
+        double q0 = 0.9;        // probability of taking the best edge
+        double xi = 0.1;        // local update rate
+
+        ColonySystem rule(double q0, double xi) {
+            this.q0 = q0;
+            this.xi = xi;
+            return this;
+        }
+
+        public void init(ACOEngine e, double lnn) {
+            e.q0 = q0;
+            e.tau0 = 1 / (e.n * lnn);
+            e.fill(e.tau0);
+        }
+
+        public void update(ACOEngine e) {
+            for (int k = 0; k < e.ants; k++)
+                e.blend(e.tours, k * e.n, 1 - xi, xi * e.tau0, Double.MAX_VALUE);
+            e.blend(e.bestTour, 0, 1 - e.rho, e.rho / e.bestLength, Double.MAX_VALUE);
+        }
+    }
+
+    long fallbacks() {
+        long f = 0;
+        for (Ant a : colony) f += a.fallbacks;
+        return f;
+    }
+
+    // One ant: its random stream and the buffers it builds a tour with
+    class Ant {
+        final SplitMix64 rng;
+        final int[] open = new int[n];   // unvisited cities packed in open[0 .. left)
+        final int[] where = new int[n];  // index of each city in open; >= left once visited
+        int left;
+        final double[] weight = new double[n]; // roulette weights, parallel to open or to choice
+        int[] choice;                    // [k] unvisited candidates of the current step
+        long fallbacks;                  // steps that found every candidate visited
+
+        Ant(SplitMix64 rng) {
+            this.rng = rng;
+        }
+
+        // Builds the tour of ant a into tours[a*n ..]; returns its length
+        double construct(int a) {
+            int base = a * n;
+            for (int j = 0; j < n; j++) open[j] = where[j] = j;
+            left = n;
+            int cur = rng.nextInt(n);
+            visit(cur);
+            tours[base] = cur;
+            double len = 0;
+            for (int step = 1; step < n; step++) {
+                int next = -1;
+                boolean greedy = q0 > 0 && rng.nextDouble() < q0;
+                if (cand == null) {
+                    next = fromAll(cur, greedy);
+                } else if ((next = fromCandidates(cur, greedy)) < 0) {
+                    next = nearest(cur);
+                    fallbacks++;
+                }
+                visit(next);
+                tours[base + step] = next;
+                len += tsp.dist(cur, next);
+                cur = next;
+            }
+            return len + tsp.dist(cur, tours[base]);
+        }
+
+        // Roulette (or, if greedy, the best weight) over the unvisited
+        // candidates of cur; -1 if there are none
+        int fromCandidates(int cur, boolean greedy) {
+            int m = 0;
+            double sum = 0;
+            for (int c = cur * k, end = c + k; c < end; c++) {
+                int j = cand[c];
+                if (where[j] >= left) continue;
+                double w = info[c];
+                choice[m] = j;
+                weight[m++] = w;
+                sum += w;
+            }
+            if (m == 0) return -1;
+            return choice[greedy ? argmax(m) : roulette(m, sum)];
+        }
+
+        // Roulette (or, if greedy, the best weight) over every unvisited city
+        int fromAll(int cur, boolean greedy) {
+            int row = cur * n;
+            double sum = 0;
+            for (int s = 0; s < left; s++) {
+                int j = open[s];
+                double w = info[row + j];
+                weight[s] = w;
+                sum += w;
+            }
+            return open[greedy ? argmax(left) : roulette(left, sum)];
+        }
+
+        // Nearest unvisited city: the fallback once every candidate of cur is
+        // visited. The remaining edges are all off cur's list and hold no
+        // pheromone, so distance alone decides.
+        int nearest(int cur) {
+            int best = open[0];
+            double bd = tsp.dist(cur, best);
+            for (int s = 1; s < left; s++) {
+                double d = tsp.dist(cur, open[s]);
+                if (d < bd) {
+                    bd = d;
+                    best = open[s];
+                }
+            }
+            return best;
+        }
+
+        // Index of the largest of weight[0 .. m) (the first one on ties)
+        int argmax(int m) {
+            int best = 0;
+            for (int s = 1; s < m; s++)
+                if (weight[s] > weight[best]) best = s;
+            return best;
+        }
+
+        // Index drawn from weight[0 .. m) in proportion to the weights
+        int roulette(int m, double sum) {
+            if (!(sum > 0)) return rng.nextInt(m);
+            double r = rng.nextDouble() * sum, acc = 0;
+            for (int s = 0; s < m; s++) {
+                acc += weight[s];
+                if (acc > r) return s;
+            }
+            return m - 1; // rounding can leave r just above the last partial sum
+        }
+
+        // Moves city c out of the unvisited part of open
+        void visit(int c) {
+            int s = where[c], last = open[--left];
+            open[s] = last;
+            where[last] = s;
+            open[left] = c;
+            where[c] = left;
+        }
+
+        // Greedy tour from `start` always moving to the nearest unvisited city
+        // (the first unvisited candidate, when there are candidate lists)
+        double nearestNeighbourLength(int start) {
+            for (int j = 0; j < n; j++) open[j] = where[j] = j;
+            left = n;
+            int cur = start;
+            visit(cur);
+            double len = 0;
+            for (int step = 1; step < n; step++) {
+                int best = -1;
+                if (cand != null)
+                    for (int c = cur * k, end = c + k; c < end && best < 0; c++)
+                        if (where[cand[c]] < left) best = cand[c];
+                if (best < 0) {
+                    double bd = Double.MAX_VALUE;
+                    for (int j = 0; j < n; j++) {
+                        if (where[j] >= left) continue;
+                        double d = tsp.dist(cur, j);
+                        if (d < bd) {
+                            bd = d;
+                            best = j;
+                        }
+                    }
+                }
+                visit(best);
+                len += tsp.dist(cur, best);
+                cur = best;
+            }
+            return len + tsp.dist(cur, start);
+        }
+    }
+
+    // Splits a range of ants across the pool
+    class AntTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final int from, to;
+
+        AntTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                lengths[from] = colony[from].construct(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AntTask(from, mid), new AntTask(mid, to));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// Throughput of ACOEngine with the ants of each iteration built on 1, 2, 4
+// ... threads (same seed, candidate lists). Also checks that every thread
+// count ends with the same best tour, as the per-ant RNG streams promise.
+// Usage: java ACOParallelBench [--iter N] [--ants M] [--k K] [--threads a,b,..] [file.tsp]
+public class ACOParallelBench {
+    public static void main(String[] args) throws IOException {
+        int iterations = 30, ants = 64, k = 20;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threads = cores >= 8 ? new int[] { 1, 2, 4, 8 } : cores >= 4 ? new int[] { 1, 2, 4 }
+                : new int[] { 1, 2 };
+        TSPInstance tsp = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iter": iterations = Integer.parseInt(args[++i]); break;
+                case "--ants": ants = Integer.parseInt(args[++i]); break;
+                case "--k": k = Integer.parseInt(args[++i]); break;
+                case "--threads": {
+                    String[] parts = args[++i].split(",");
+                    threads = new int[parts.length];
+                    for (int j = 0; j < parts.length; j++) threads[j] = Integer.parseInt(parts[j]);
+                    break;
+                }
+                default: tsp = TSPInstance.load(Paths.get(args[i]));
+            }
+        }
+        if (tsp == null) tsp = TSPInstance.random(2000, 42);
+
+        System.out.println("=== Parallel ant construction ===");
+        System.out.printf("%s (n = %d), ants = %d, k = %d, iterations = %d, cores = %d%n%n", tsp.name, tsp.n, ants,
+                k, iterations, cores);
+        System.out.printf("%7s | %10s | %10s | %7s | %10s | %s%n", "threads", "ms/iter", "tours/s", "speedup",
+                "best", "tour hash");
+
+        double base = 0;
+        for (int t : threads) {
+            ACOEngine e = new ACOEngine(tsp, ants, 7).candidates(k).parallel(t);
+            e.step(); // warm-up (also sets tau0)
+            long t0 = System.nanoTime();
+            e.run(iterations - 1);
+            double ms = (System.nanoTime() - t0) / 1e6 / Math.max(1, iterations - 1);
+            e.shutdown();
+            if (base == 0) base = ms;
+            System.out.printf("%7d | %10.2f | %10.0f | %6.2fx | %10.0f | %08x%n", t, ms, ants * 1000 / ms,
+                    base / ms, e.bestLength, java.util.Arrays.hashCode(e.bestTour));
+        }
+    }
+}
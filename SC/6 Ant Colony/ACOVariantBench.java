@@ -0,0 +1,65 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ant System, MAX-MIN Ant System and Ant Colony System on the same
+// instances (candidate lists, each with its usual settings). Prints the
+// best tour after 10%, 25% and all of the iterations, the iteration the
+// final best was found, the gap to the optimum for known TSPLIB instances
+// and the time per iteration.
+// Instances: TSPLIB files given on the command line, otherwise uniform
+// random instances of 100 and 1002 cities.
+// Usage: java ACOVariantBench [--iter N] [--k K] [--seed S] [file.tsp ...]
+public class ACOVariantBench {
+    public static void main(String[] args) throws IOException {
+        int iterations = 500, k = 20;
+        long seed = 1;
+        List<TSPInstance> instances = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iter": iterations = Integer.parseInt(args[++i]); break;
+                case "--k": k = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default: instances.add(TSPInstance.load(Paths.get(args[i])));
+            }
+        }
+        if (instances.isEmpty()) {
+            instances.add(TSPInstance.random(100, 42));
+            instances.add(TSPInstance.random(1002, 42));
+        }
+        String[] variants = { "AS", "MMAS", "ACS" };
+        int early = Math.max(1, iterations / 10), mid = Math.max(1, iterations / 4);
+
+        System.out.println("=== ACO variants ===");
+        System.out.printf("iterations = %d, k = %d, seed = %d%n%n", iterations, k, seed);
+        System.out.printf("%-14s %6s | %-5s %4s | %10s | %10s | %10s %6s | %8s | %8s%n", "instance", "n", "rule",
+                "ants", "@" + early, "@" + mid, "final", "iter", "gap", "ms/iter");
+
+        for (TSPInstance tsp : instances) {
+            for (String v : variants) {
+                ACOEngine e;
+                if (v.equals("MMAS")) {
+                    e = new ACOEngine(tsp, 25, seed).strategy(ACOEngine.Strategy.mmas()).parameters(1, 2, 0.2);
+                } else if (v.equals("ACS")) {
+                    e = new ACOEngine(tsp, 10, seed).strategy(ACOEngine.Strategy.acs()).parameters(1, 2, 0.1);
+                } else {
+                    e = new ACOEngine(tsp, 25, seed).parameters(1, 2, 0.5);
+                }
+                e.candidates(k);
+                double atEarly = 0, atMid = 0;
+                long t0 = System.nanoTime();
+                while (e.iter < iterations) {
+                    e.step();
+                    if (e.iter == early) atEarly = e.bestLength;
+                    if (e.iter == mid) atMid = e.bestLength;
+                }
+                double ms = (System.nanoTime() - t0) / 1e6 / iterations;
+                Double opt = ACOBench.OPTIMA.get(tsp.name);
+                System.out.printf("%-14s %6d | %-5s %4d | %10.0f | %10.0f | %10.0f %6d | %8s | %8.2f%n", tsp.name,
+                        tsp.n, v, e.ants, atEarly, atMid, e.bestLength, e.bestIter,
+                        opt == null ? "-" : String.format("%.2f%%", 100 * (e.bestLength / opt - 1)), ms);
+            }
+        }
+    }
+}
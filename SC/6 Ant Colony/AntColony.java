@@ -27,8 +27,40 @@ public class AntColony {
     // pheromone matrix (symmetric)
     double[][] pher;
 
+    // Roulette weights tau^ALPHA * eta^BETA of every edge for one pheromone
+    // matrix. eta^BETA never changes and is computed once; a weight is
+    // recomputed only where the deposit and evaporation methods change the
+    // pheromone, so building a tour is table lookups instead of two
+    // Math.pow calls per candidate. Same expression as before, so the
+    // numbers (and the run) are unchanged.
+    static final class ChoiceInfo {
+        final double[][] pher, etaPow, val;
+
+        ChoiceInfo(double[][] pher) {
+            this.pher = pher;
+            etaPow = new double[N][N];
+            val = new double[N][N];
+            for (int i = 0; i < N; i++)
+                for (int j = 0; j < N; j++)
+                    etaPow[i][j] = (COST[i][j] > 0) ? Math.pow(1.0 / COST[i][j], BETA) : 0.0;
+            refreshAll();
+        }
+
+        void refresh(int i, int j) {
+            val[i][j] = Math.pow(pher[i][j], ALPHA) * etaPow[i][j];
+        }
+
+        void refreshAll() {
+            for (int i = 0; i < N; i++)
+                for (int j = 0; j < N; j++) refresh(i, j);
+        }
+    }
+
+    static ChoiceInfo info; // cache for the colony's pher
+
     public AntColony() {
         pher = new double[N][N];
+        info = new ChoiceInfo(pher);
         runScenario();
     }
 
@@ -148,6 +180,7 @@ public class AntColony {
             int a = path[i], b = path[i+1];
             pher[a][b] += dep;
             pher[b][a] += dep;
+            touched(pher, a, b);
         }
     }
 
@@ -158,6 +191,7 @@ public class AntColony {
             int a = tour[i], b = tour[i+1];
             pher[a][b] += dep;
             pher[b][a] += dep;
+            touched(pher, a, b);
         }
     }
 
@@ -165,6 +199,24 @@ public class AntColony {
         for (int i = 0; i < pher.length; i++)
             for (int j = 0; j < pher.length; j++)
                 pher[i][j] *= (1.0 - rho);
+        if (info != null && info.pher == pher) info.refreshAll();
+    }
+
+    // Keeps the choice info in step after edge (a, b) of pher changed
+    static void touched(double[][] pher, int a, int b) {
+        if (info == null || info.pher != pher) return;
+        info.refresh(a, b);
+        info.refresh(b, a);
+    }
+
+    // tau^alpha * eta^beta of edge (i, j): a cache lookup for the colony's
+    // own matrix and parameters, computed otherwise
+    static double weight(double[][] pher, double[][] cost, int i, int j, double alpha, double beta) {
+        if (info != null && info.pher == pher && cost == COST && alpha == ALPHA && beta == BETA)
+            return info.val[i][j];
+        double tau = Math.pow(pher[i][j], alpha);
+        double eta = (cost[i][j] > 0) ? Math.pow(1.0 / cost[i][j], beta) : 0.0;
+        return tau * eta;
     }
 
     static double[][] computeTransitionProbabilities(double[][] pher, double[][] cost, double alpha, double beta) {
@@ -175,9 +227,7 @@ public class AntColony {
             double[] w = new double[n];
             for (int j = 0; j < n; j++) {
                 if (i == j) continue;
-                double tau = Math.pow(pher[i][j], alpha);
-                double eta = (cost[i][j] > 0) ? Math.pow(1.0 / cost[i][j], beta) : 0.0;
-                w[j] = tau * eta;
+                w[j] = weight(pher, cost, i, j, alpha, beta);
                 sum += w[j];
             }
             if (sum <= 0.0) {
@@ -220,9 +270,7 @@ public class AntColony {
 
         for (int j = 0; j < N; j++) {
             if (!visited[j]) {
-                double tau = Math.pow(pher[current][j], alpha);
-                double eta = (cost[current][j] > 0) ? Math.pow(1.0 / cost[current][j], beta) : 0.0;
-                weights[j] = tau * eta;
+                weights[j] = weight(pher, cost, current, j, alpha, beta);
                 sum += weights[j];
             }
         }
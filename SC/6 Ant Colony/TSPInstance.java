@@ -0,0 +1,324 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Symmetric TSP instance for ACOEngine, loaded from a TSPLIB file or
+// generated.
+// Supported EDGE_WEIGHT_TYPEs: EUC_2D, CEIL_2D, ATT, GEO and EXPLICIT
+// (FULL_MATRIX and the UPPER/LOWER[_DIAG]_ROW/COL formats). Distances follow
+// the TSPLIB definitions (integer-rounded), so tour lengths compare
+// directly with published optima.
+//
+// Distances are stored as one flat n*n array (row i at dist[i*n ..]) when
+// n <= MATRIX_LIMIT, i.e. up to 200 MB; larger coordinate instances compute
+// each distance from the coordinates on demand, which costs a square root
+// (plus trigonometry for GEO) per lookup but no memory. EXPLICIT instances
+// always keep their matrix.
+public class TSPInstance {
+    static final int MATRIX_LIMIT = 5000;
+
+    enum Metric { EUC_2D, CEIL_2D, ATT, GEO, EXPLICIT }
+
+    final String name;
+    final int n;
+    final Metric metric;
+    final double[] x, y;        // [n] node coordinates (null for EXPLICIT)
+    final double[] dist;        // [n*n] or null -> computed on demand
+    double[] lat, lon;          // [n] GEO radians
+
+    TSPInstance(String name, Metric metric, double[] x, double[] y, double[] dist) {
+        this.name = name;
+        this.metric = metric;
+        this.n = x != null ? x.length : (int) Math.round(Math.sqrt(dist.length));
+        this.x = x;
+        this.y = y;
+        if (metric == Metric.GEO) {
+            lat = new double[n];
+            lon = new double[n];
+            for (int i = 0; i < n; i++) {
+                lat[i] = geoRadians(x[i]);
+                lon[i] = geoRadians(y[i]);
+            }
+        }
+        if (dist == null && n <= MATRIX_LIMIT) {
+            dist = new double[n * n];
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < i; j++)
+                    dist[i * n + j] = dist[j * n + i] = compute(i, j);
+        }
+        this.dist = dist;
+    }
+
+    // Distance between cities i and j
+    double dist(int i, int j) {
+        return dist != null ? dist[i * n + j] : compute(i, j);
+    }
+
+    double compute(int i, int j) {
+        if (i == j) return 0;
+        double dx = x[i] - x[j], dy = y[i] - y[j];
+        switch (metric) {
+            case EUC_2D:
+                return (int) (Math.sqrt(dx * dx + dy * dy) + 0.5);
+            case CEIL_2D:
+                return Math.ceil(Math.sqrt(dx * dx + dy * dy));
+            case ATT: {
+                double r = Math.sqrt((dx * dx + dy * dy) / 10.0);
+                int t = (int) (r + 0.5);
+                return t < r ? t + 1 : t;
+            }
+            case GEO: {
+                double q1 = Math.cos(lon[i] - lon[j]);
+                double q2 = Math.cos(lat[i] - lat[j]);
+                double q3 = Math.cos(lat[i] + lat[j]);
+                return (int) (6378.388 * Math.acos(0.5 * ((1 + q1) * q2 - (1 - q1) * q3)) + 1.0);
+            }
+            default:
+                throw new IllegalStateException("explicit instance without a matrix");
+        }
+    }
+
+    // TSPLIB DDD.MM (degrees, minutes) to radians with TSPLIB's PI
+    static double geoRadians(double v) {
+        int deg = (int) v;
+        double min = v - deg;
+        return 3.141592 * (deg + 5.0 * min / 3.0) / 180.0;
+    }
+
+    // Length of the closed tour through all n cities in tour[off .. off+n)
+    double tourLength(int[] tour, int off) {
+        double s = dist(tour[off + n - 1], tour[off]);
+        for (int k = off, end = off + n - 1; k < end; k++) s += dist(tour[k], tour[k + 1]);
+        return s;
+    }
+
+    // ---------- candidate lists ----------
+
+    // The k nearest other cities of every city, nearest first: city i's list
+    // is nb[i*k .. (i+1)*k). Planar metrics (EUC_2D, CEIL_2D, ATT) only grow
+    // with the Euclidean distance, so they are searched on a uniform grid of
+    // about two cities per cell, scanning rings of cells outward until the
+    // k-th neighbour is closer than the unscanned rings can be; that is
+    // O(n*k) instead of O(n^2) and is what makes 100k-city lists practical.
+    // GEO and EXPLICIT instances scan all pairs.
+    int[] neighbours(int k) {
+        k = Math.min(k, n - 1);
+        int[] nb = new int[n * k];
+        double[] bd = new double[k];
+        int[] bi = new int[k];
+        if (x == null || metric == Metric.GEO) {
+            for (int i = 0; i < n; i++) {
+                int found = 0;
+                for (int j = 0; j < n; j++)
+                    if (j != i) found = offer(j, dist(i, j), k, found, bi, bd);
+                System.arraycopy(bi, 0, nb, i * k, k);
+            }
+            return nb;
+        }
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        int side = Math.max(1, (int) Math.sqrt(n / 2.0));
+        double cell = Math.max(Math.max(maxX - minX, maxY - minY) / side, 1e-12);
+        int cols = (int) ((maxX - minX) / cell) + 1, rows = (int) ((maxY - minY) / cell) + 1;
+        // counting sort of the cities by cell: cell c holds items[start[c] .. start[c+1])
+        int[] cellOf = new int[n], start = new int[cols * rows + 1], items = new int[n];
+        for (int i = 0; i < n; i++) {
+            int cx = (int) ((x[i] - minX) / cell), cy = (int) ((y[i] - minY) / cell);
+            cellOf[i] = cy * cols + cx;
+            start[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) start[c + 1] += start[c];
+        int[] fill = start.clone();
+        for (int i = 0; i < n; i++) items[fill[cellOf[i]]++] = i;
+
+        for (int i = 0; i < n; i++) {
+            int cx = cellOf[i] % cols, cy = cellOf[i] / cols, found = 0;
+            for (int r = 0; ; r++) {
+                for (int gy = cy - r; gy <= cy + r; gy++) {
+                    if (gy < 0 || gy >= rows) continue;
+                    boolean edge = gy == cy - r || gy == cy + r;
+                    for (int gx = cx - r; gx <= cx + r; gx += edge ? 1 : 2 * r) {
+                        if (gx >= 0 && gx < cols) {
+                            int c = gy * cols + gx;
+                            for (int s = start[c]; s < start[c + 1]; s++) {
+                                int j = items[s];
+                                if (j == i) continue;
+                                double dx = x[i] - x[j], dy = y[i] - y[j];
+                                found = offer(j, dx * dx + dy * dy, k, found, bi, bd);
+                            }
+                        }
+                        if (r == 0) break;
+                    }
+                }
+                double reach = r * cell; // every unscanned city is at least this far away
+                if (found == k && bd[k - 1] <= reach * reach) break;
+                if (r > cols && r > rows) break;
+            }
+            System.arraycopy(bi, 0, nb, i * k, k);
+        }
+        return nb;
+    }
+
+    // Insertion into the sorted top-k lists
+    static int offer(int j, double d, int k, int found, int[] idx, double[] dist) {
+        if (found == k && d >= dist[k - 1]) return found;
+        int s = found < k ? found++ : k - 1;
+        while (s > 0 && dist[s - 1] > d) {
+            dist[s] = dist[s - 1];
+            idx[s] = idx[s - 1];
+            s--;
+        }
+        dist[s] = d;
+        idx[s] = j;
+        return found;
+    }
+
+    // ---------- construction ----------
+
+    // n cities uniform in [0, 1000)^2, EUC_2D
+    static TSPInstance random(int n, long seed) {
+        SplitMix64 r = new SplitMix64(seed);
+        double[] x = new double[n], y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.floor(r.nextDouble() * 1000 * 100) / 100;
+            y[i] = Math.floor(r.nextDouble() * 1000 * 100) / 100;
+        }
+        return new TSPInstance("rand" + n + "-" + seed, Metric.EUC_2D, x, y, null);
+    }
+
+    // Wraps a full cost matrix, e.g. the 4x4 COST of AntColony
+    static TSPInstance matrix(String name, double[][] cost) {
+        int n = cost.length;
+        double[] d = new double[n * n];
+        for (int i = 0; i < n; i++) System.arraycopy(cost[i], 0, d, i * n, n);
+        return new TSPInstance(name, Metric.EXPLICIT, null, null, d);
+    }
+
+    // Reads a symmetric TSPLIB instance (TYPE: TSP)
+    static TSPInstance load(Path file) throws IOException {
+        String name = file.getFileName().toString().replaceFirst("\\.tsp$", "");
+        String type = "TSP", weightType = null, format = "FULL_MATRIX";
+        int n = -1;
+        double[] x = null, y = null, dist = null;
+
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            Tokens tok = new Tokens(in);
+            String line;
+            while ((line = tok.line()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                int colon = line.indexOf(':');
+                String key = (colon >= 0 ? line.substring(0, colon) : line).trim().toUpperCase();
+                String val = colon >= 0 ? line.substring(colon + 1).trim() : "";
+                switch (key) {
+                    case "NAME": name = val; break;
+                    case "TYPE": type = val.toUpperCase(); break;
+                    case "DIMENSION": n = Integer.parseInt(val); break;
+                    case "EDGE_WEIGHT_TYPE": weightType = val.toUpperCase(); break;
+                    case "EDGE_WEIGHT_FORMAT": format = val.toUpperCase(); break;
+                    case "NODE_COORD_SECTION":
+                        requireDimension(n, file);
+                        x = new double[n];
+                        y = new double[n];
+                        for (int k = 0; k < n; k++) {
+                            int id = (int) tok.number();
+                            if (id < 1 || id > n) throw new IOException(file + ": node id " + id + " out of range");
+                            x[id - 1] = tok.number();
+                            y[id - 1] = tok.number();
+                        }
+                        break;
+                    case "EDGE_WEIGHT_SECTION":
+                        requireDimension(n, file);
+                        dist = readWeights(tok, n, format, file);
+                        break;
+                    case "EOF":
+                        break;
+                    default:
+                        break; // COMMENT, DISPLAY_DATA_TYPE, ... are not needed
+                }
+                if (key.equals("EOF")) break;
+            }
+        }
+
+        if (!type.startsWith("TSP"))
+            throw new IOException(file + ": only symmetric TSP instances are supported (TYPE: " + type + ")");
+        if (weightType == null) throw new IOException(file + ": missing EDGE_WEIGHT_TYPE");
+        Metric metric;
+        try {
+            metric = Metric.valueOf(weightType);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": unsupported EDGE_WEIGHT_TYPE " + weightType);
+        }
+        if (metric == Metric.EXPLICIT ? dist == null : x == null)
+            throw new IOException(file + ": missing " + (metric == Metric.EXPLICIT ? "EDGE_WEIGHT" : "NODE_COORD")
+                    + "_SECTION");
+        return metric == Metric.EXPLICIT ? new TSPInstance(name, metric, null, null, dist)
+                : new TSPInstance(name, metric, x, y, null);
+    }
+
+    static void requireDimension(int n, Path file) throws IOException {
+        if (n <= 0) throw new IOException(file + ": DIMENSION must come before the data sections");
+    }
+
+    // Expands an EDGE_WEIGHT_SECTION into a full symmetric matrix. For a
+    // symmetric matrix the column-wise formats list the same numbers as the
+    // opposite row-wise ones (UPPER_COL == LOWER_ROW, ...).
+    static double[] readWeights(Tokens tok, int n, String format, Path file) throws IOException {
+        double[] d = new double[n * n];
+        boolean upper, diag;
+        switch (format) {
+            case "FULL_MATRIX":
+                for (int k = 0; k < n * n; k++) d[k] = tok.number();
+                return d;
+            case "UPPER_ROW": case "LOWER_COL":           upper = true;  diag = false; break;
+            case "LOWER_ROW": case "UPPER_COL":           upper = false; diag = false; break;
+            case "UPPER_DIAG_ROW": case "LOWER_DIAG_COL": upper = true;  diag = true;  break;
+            case "LOWER_DIAG_ROW": case "UPPER_DIAG_COL": upper = false; diag = true;  break;
+            default: throw new IOException(file + ": unsupported EDGE_WEIGHT_FORMAT " + format);
+        }
+        for (int i = 0; i < n; i++) {
+            int from = upper ? (diag ? i : i + 1) : 0;
+            int to = upper ? n : (diag ? i + 1 : i);
+            for (int j = from; j < to; j++) {
+                double w = tok.number();
+                d[i * n + j] = d[j * n + i] = i == j ? 0 : w;
+            }
+        }
+        return d;
+    }
+
+    // Line reader that can also hand out whitespace-separated numbers
+    // spanning any number of lines (TSPLIB sections are free-form)
+    static class Tokens {
+        final BufferedReader in;
+        String[] parts = new String[0];
+        int next = 0;
+
+        Tokens(BufferedReader in) {
+            this.in = in;
+        }
+
+        String line() throws IOException {
+            next = parts.length;
+            return in.readLine();
+        }
+
+        double number() throws IOException {
+            while (next >= parts.length) {
+                String l = in.readLine();
+                if (l == null) throw new IOException("unexpected end of file in a data section");
+                l = l.trim();
+                parts = l.isEmpty() ? new String[0] : l.split("\\s+");
+                next = 0;
+            }
+            return Double.parseDouble(parts[next++]);
+        }
+    }
+}
@@ -11,6 +11,11 @@ public class SimpleGA_Objective {
     static final double GAUSSIAN_SIGMA = 0.05;  // for gaussian mutation on x in [0,1]
     static final Random RNG = new Random();
 
+    // objective(x) through the shared Objective interface in ../0 Common, so the
+    // GA scores a generation with one batch call like the PSO and GWO engines
+    // (compile with: javac -sourcepath ".:../0 Common" SimpleGA_Objective.java)
+    static final Objective OBJECTIVE = Objective.scalar(SimpleGA_Objective::objective, 0, 1);
+
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
 
@@ -62,17 +67,20 @@ public class SimpleGA_Objective {
                 pop[i][j] = RNG.nextBoolean() ? 1 : 0;
 
         double[] fit = new double[POP_SIZE];
+        double[] xs = new double[POP_SIZE];
         int[][] nextPop = new int[POP_SIZE][GENE_LEN];
 
         // ---- GA loop ----
         for (int gen = 1; gen <= GENERATIONS; gen++) {
             // Evaluate fitness
+            for (int i = 0; i < POP_SIZE; i++)
+                xs[i] = bitsToDouble(pop[i]);                    // decode to [0,1]
+            OBJECTIVE.evaluate(xs, 0, POP_SIZE, 1, fit);         // f(x) = x*sin(10πx)+1
             double best = -1e9, sum = 0;
             int bestIdx = 0;
             for (int i = 0; i < POP_SIZE; i++) {
-                double x = bitsToDouble(pop[i]);                 // decode to [0,1]
-                double f = objective(x);                         // f(x) = x*sin(10πx)+1
-                fit[i] = f; sum += f;
+                double f = fit[i];
+                sum += f;
                 if (f > best) { best = f; bestIdx = i; }
             }
             double avg = sum / POP_SIZE;